@@ -0,0 +1,39 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files (e.g. from two commits) benchmark by benchmark.
+
+Usage: scripts/compare-jmh.py baseline.json candidate.json
+"""
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+            name = entry["benchmark"].rsplit(".", 2)
+            key = f"{name[-2]}.{name[-1]}" + (f"[{params}]" if params else "")
+            metric = entry["primaryMetric"]
+            results[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"])
+        return results
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+    baseline, candidate = load(sys.argv[1]), load(sys.argv[2])
+    print(f"{'benchmark':70} {'baseline':>14} {'candidate':>14} {'change':>9}")
+    for key in sorted(baseline.keys() | candidate.keys()):
+        base, cand = baseline.get(key), candidate.get(key)
+        if base is None or cand is None:
+            print(f"{key:70} {'-' if base is None else f'{base[0]:.3f}':>14} {'-' if cand is None else f'{cand[0]:.3f}':>14}")
+            continue
+        change = (cand[0] - base[0]) / base[0] * 100 if base[0] else 0.0
+        # Differences inside the combined 99.9% error bounds are reported as noise
+        noise = abs(cand[0] - base[0]) <= base[1] + cand[1]
+        print(f"{key:70} {base[0]:>10.3f} {base[2]:<6} {cand[0]:>10.3f} {cand[2]:<6} {change:>+8.1f}%{' ~' if noise else ''}")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Starts the application once with platform threads and once with virtual threads and runs the
+# read-endpoint load test against each. Results are appended to build/loadtest/thread-modes.csv.
+#
+# Usage: scripts/compare-thread-modes.sh [concurrency] [duration-seconds]
+# Expects DATABASE_URL/DATABASE_USERNAME/DATABASE_PASSWORD to point at a seeded database.
+# Admission control is turned off: all workers share one client address and would mostly measure 429s.
+set -euo pipefail
+
+CONCURRENCY="${1:-200}"
+DURATION="${2:-60}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+OUTPUT="build/loadtest/thread-modes.csv"
+
+cd "$(dirname "$0")/.."
+./gradlew -q bootJar
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+mkdir -p "$(dirname "$OUTPUT")"
+rm -f "$OUTPUT"
+
+run_mode() {
+  local label="$1" virtual="$2"
+  echo "=== ${label} threads (concurrency ${CONCURRENCY}, ${DURATION}s) ==="
+  VIRTUAL_THREADS_ENABLED="$virtual" SHOW_SQL=false ADMISSION_CONTROL_ENABLED=false \
+    java -Duser.timezone=UTC -jar "$JAR" --server.port="$PORT" > "build/loadtest/${label}.log" 2>&1 &
+  local pid=$!
+  trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+  until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do
+    kill -0 "$pid" 2>/dev/null || { echo "Application failed to start, see build/loadtest/${label}.log"; exit 1; }
+    sleep 1
+  done
+
+  ./gradlew -q loadTest --args="--base-url=${BASE_URL} --concurrency=${CONCURRENCY} --duration=${DURATION} --label=${label} --output=${OUTPUT}"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+column -s, -t < "$OUTPUT"
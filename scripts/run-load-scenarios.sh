@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Regenerates the synthetic dataset and runs the read-heavy, write-heavy and search-mixed scenarios
+# against an application that is already running on the same local database.
+# Results are appended to build/loadtest/scenarios.csv.
+#
+# Usage: scripts/run-load-scenarios.sh [users] [recipes] [concurrency] [duration-seconds]
+# Uses DATABASE_URL/DATABASE_USERNAME/DATABASE_PASSWORD like the application (defaults match application.yml).
+# Restart the application after regenerating so no cached entries from the previous dataset survive.
+# Start it with ADMISSION_CONTROL_ENABLED=false: every worker shares one client address, so the default
+# per-client rate limits would turn most requests into 429s. The load test warns when it sees any.
+set -euo pipefail
+
+USERS="${1:-10000}"
+RECIPES="${2:-200000}"
+CONCURRENCY="${3:-100}"
+DURATION="${4:-60}"
+SEED="${SEED:-42}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+OUTPUT="build/loadtest/scenarios.csv"
+
+cd "$(dirname "$0")/.."
+mkdir -p "$(dirname "$OUTPUT")"
+
+if [[ "${SKIP_GENERATE:-false}" != "true" ]]; then
+  ./gradlew -q generateData --args="--jdbc-url=${DATABASE_URL:-jdbc:postgresql://localhost:5432/recipes} \
+--username=${DATABASE_USERNAME:-admin} --password=${DATABASE_PASSWORD:-password} \
+--users=${USERS} --recipes=${RECIPES} --seed=${SEED} --truncate=true"
+fi
+
+./gradlew -q loadTest --args="--base-url=${BASE_URL} --scenario=all --users=${USERS} --recipes=${RECIPES} \
+--concurrency=${CONCURRENCY} --duration=${DURATION} --seed=${SEED} --label=u${USERS}-r${RECIPES} --output=${OUTPUT}"
+
+echo
+column -s, -t < "$OUTPUT"
@@ -0,0 +1,83 @@
+package com.oprykhodko.recipeplatformbackend.benchmark;
+
+import com.oprykhodko.recipeplatformbackend.RecipeplatformbackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+/**
+ * Boots the application (without the web layer) against an embedded PostgreSQL instance, migrated by
+ * Flyway exactly as in production, and seeds {@code recipes} rows spread over {@code users} authors.
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+
+    @Param({"100", "1000"})
+    public int recipes;
+
+    @Param("50")
+    public int users;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(RecipeplatformbackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.oprykhodko.recipeplatformbackend=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO users (username, email, password_hash, display_name)
+                SELECT 'user' || g, 'user' || g || '@example.com', 'hash', 'User ' || g
+                FROM generate_series(1, ?) g
+                """, users);
+        jdbcTemplate.update("""
+                WITH authors AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS position FROM users)
+                INSERT INTO recipes (title, description, prep_time_minutes, cook_time_minutes, servings,
+                                     difficulty, user_id, created_at, updated_at)
+                SELECT 'Recipe ' || g, 'Description of recipe ' || g, g % 60, g % 120, 1 + g % 8,
+                       (ARRAY['EASY', 'MEDIUM', 'HARD'])[1 + g % 3], a.id,
+                       now() - g * INTERVAL '1 minute', now() - g * INTERVAL '1 minute'
+                FROM generate_series(0, ? - 1) g
+                JOIN authors a ON a.position = g % ?
+                """, recipes, users);
+    }
+}
@@ -0,0 +1,100 @@
+package com.oprykhodko.recipeplatformbackend.benchmark;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory costs of the entity API: the defensive copy in {@link User#getRecipes()}, the linear
+ * duplicate check in {@link User#addRecipe(Recipe)} and id-based equals/hashCode in hash collections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EntityCollectionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private User owner;
+    private List<Recipe> detached;
+    private Set<Recipe> recipeSet;
+    private Recipe probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        owner = new User("chef", "chef@example.com", "hash", "Chef");
+        owner.setId(1L);
+        detached = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Recipe recipe = new Recipe("Recipe " + i, "Description", 10, 20, 4, Difficulty.EASY, owner);
+            recipe.setId((long) i + 1);
+            detached.add(recipe);
+            owner.addRecipe(recipe);
+        }
+        recipeSet = new HashSet<>(detached);
+        probe = new Recipe("Probe", "Description", 10, 20, 4, Difficulty.EASY, owner);
+        probe.setId((long) size / 2 + 1);
+    }
+
+    @Benchmark
+    public void iterateGetRecipes(Blackhole blackhole) {
+        for (Recipe recipe : owner.getRecipes()) {
+            blackhole.consume(recipe);
+        }
+    }
+
+    @Benchmark
+    public int getRecipesSize() {
+        return owner.getRecipes().size();
+    }
+
+    @Benchmark
+    public User addRecipes() {
+        User user = new User("builder", "builder@example.com", "hash", null);
+        for (Recipe recipe : detached) {
+            user.addRecipe(recipe);
+        }
+        return user;
+    }
+
+    @Benchmark
+    public Set<Recipe> buildHashSet() {
+        return new HashSet<>(detached);
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return recipeSet.contains(probe);
+    }
+
+    @Benchmark
+    public boolean listContains() {
+        return detached.contains(probe);
+    }
+
+    @Benchmark
+    public int hashCodes() {
+        int sum = 0;
+        for (Recipe recipe : detached) {
+            sum += recipe.hashCode();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,111 @@
+package com.oprykhodko.recipeplatformbackend.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the same data as entities and as the DTO records the controllers return. The entities form
+ * a cycle (User.recipes / Recipe.user), so their mapper cuts it with mix-ins the way a naive controller
+ * returning entities would have to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @JsonIgnoreProperties({"recipes", "passwordHash"})
+    abstract static class UserMixIn {
+    }
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper entityMapper;
+    private ObjectMapper dtoMapper;
+    private User user;
+    private Recipe recipe;
+    private List<Recipe> recipePage;
+    private RecipeDetail recipeDetail;
+    private CursorPage<RecipeSummary> summaryPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dtoMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        entityMapper = dtoMapper.copy().addMixIn(User.class, UserMixIn.class);
+
+        OffsetDateTime now = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        user = new User("chef", "chef@example.com", "hash", "Chef");
+        user.setId(1L);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+
+        recipePage = new ArrayList<>(pageSize);
+        List<RecipeSummary> summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Recipe r = new Recipe("Recipe " + i, "Description of recipe " + i, 10 + i % 30, 20 + i % 60,
+                    1 + i % 8, Difficulty.values()[i % 3], user);
+            r.setId((long) i + 1);
+            r.setCreatedAt(now.minusMinutes(i));
+            r.setUpdatedAt(now.minusMinutes(i));
+            recipePage.add(r);
+            summaries.add(new RecipeSummary(r.getId(), r.getTitle(), r.getDifficulty(), r.getPrepTimeMinutes(),
+                    r.getCookTimeMinutes(), r.getServings(), user.getId(), user.getUsername(), r.getCreatedAt()));
+        }
+        recipe = recipePage.getFirst();
+        recipeDetail = RecipeDetail.from(recipe);
+        summaryPage = new CursorPage<>(summaries, summaries.getLast().cursor().encode());
+    }
+
+    @Benchmark
+    public byte[] userEntity() throws JsonProcessingException {
+        return entityMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] recipeEntity() throws JsonProcessingException {
+        return entityMapper.writeValueAsBytes(recipe);
+    }
+
+    @Benchmark
+    public byte[] recipeDetail() throws JsonProcessingException {
+        return dtoMapper.writeValueAsBytes(recipeDetail);
+    }
+
+    @Benchmark
+    public byte[] recipeEntityPage() throws JsonProcessingException {
+        return entityMapper.writeValueAsBytes(recipePage);
+    }
+
+    @Benchmark
+    public byte[] recipeSummaryPage() throws JsonProcessingException {
+        return dtoMapper.writeValueAsBytes(summaryPage);
+    }
+}
@@ -0,0 +1,52 @@
+package com.oprykhodko.recipeplatformbackend.benchmark;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads every seeded recipe with its author, once as managed entities through {@code findAllWithUsers()}
+ * and once as {@link RecipeSummary} projections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RecipeHydrationBenchmark {
+
+    private RecipeRepository recipeRepository;
+    private int allRows;
+
+    @Setup(Level.Trial)
+    public void setUp(DatabaseState database) {
+        recipeRepository = database.getBean(RecipeRepository.class);
+        allRows = database.recipes;
+    }
+
+    @Benchmark
+    public void entitiesWithUsers(Blackhole blackhole) {
+        List<Recipe> recipes = recipeRepository.findAllWithUsers();
+        for (Recipe recipe : recipes) {
+            blackhole.consume(recipe.getUser().getUsername());
+        }
+    }
+
+    @Benchmark
+    public void summaryProjections(Blackhole blackhole) {
+        List<RecipeSummary> summaries = recipeRepository.findSummaries(null, null, null, allRows);
+        for (RecipeSummary summary : summaries) {
+            blackhole.consume(summary.authorUsername());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.oprykhodko.recipeplatformbackend.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Populates {@code users} and {@code recipes} of an already migrated database with deterministic synthetic
+ * data: the same seed always produces the same rows and ids ({@code 1..n}). Recipes per author follow a
+ * power law (authors are drawn from a Zipf distribution), and rows are streamed with COPY.
+ *
+ * <pre>
+ * ./gradlew generateData --args="--users=100000 --recipes=2000000 --seed=42 --truncate=true"
+ * </pre>
+ */
+public class DataGeneratorMain {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_EVERY = 500_000;
+    // Fixed reference point so timestamps do not depend on when the generator runs
+    private static final Instant EPOCH = Instant.parse("2025-06-01T00:00:00Z");
+    private static final long RECIPE_AGE_SECONDS = 730L * 24 * 3600;
+    private static final long USER_AGE_SECONDS = 1095L * 24 * 3600;
+
+    private static final String COPY_USERS = """
+            COPY users (id, username, email, password_hash, display_name, created_at, updated_at) FROM STDIN
+            """;
+
+    private static final String COPY_RECIPES = """
+            COPY recipes (id, title, description, prep_time_minutes, cook_time_minutes, servings, difficulty,
+                          user_id, created_at, updated_at) FROM STDIN
+            """;
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = LoadTestMain.parseOptions(args);
+        String url = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/recipes");
+        String username = options.getOrDefault("username", "admin");
+        String password = options.getOrDefault("password", "password");
+        int users = Integer.parseInt(options.getOrDefault("users", "10000"));
+        int recipes = Integer.parseInt(options.getOrDefault("recipes", "200000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double authorSkew = Double.parseDouble(options.getOrDefault("author-skew", "1.1"));
+        boolean truncate = Boolean.parseBoolean(options.getOrDefault("truncate", "false"));
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL synchronous_commit = off");
+                if (truncate) {
+                    statement.execute("TRUNCATE recipe_feed, recipes, users CASCADE");
+                } else if (hasRows(statement)) {
+                    throw new IllegalStateException("users/recipes are not empty; pass --truncate=true to replace them");
+                }
+            }
+
+            long started = System.nanoTime();
+            SplittableRandom random = new SplittableRandom(seed);
+            copyUsers(connection, users, random.split());
+            copyRecipes(connection, recipes, users, authorSkew, random.split());
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval('users_id_seq', " + users + ")");
+                statement.execute("SELECT setval('recipes_id_seq', " + Math.max(recipes, 1) + ")");
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users");
+                statement.execute("ANALYZE recipes");
+                statement.execute("ANALYZE recipe_feed");
+            }
+            System.out.printf("Generated %d users and %d recipes (seed %d) in %.1fs%n",
+                    users, recipes, seed, (System.nanoTime() - started) / 1e9);
+        }
+    }
+
+    private static boolean hasRows(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(
+                "SELECT EXISTS (SELECT 1 FROM users) OR EXISTS (SELECT 1 FROM recipes)")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static void copyUsers(Connection connection, int users, SplittableRandom random) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_USERS);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+            for (int id = 1; id <= users; id++) {
+                Instant createdAt = EPOCH.minusSeconds(random.nextLong(USER_AGE_SECONDS));
+                buffer.append(id).append('\t')
+                        .append("user").append(id).append('\t')
+                        .append("user").append(id).append("@example.com").append('\t')
+                        .append("$2a$10$generated").append('\t')
+                        .append("Cook ").append(id).append('\t')
+                        .append(createdAt).append('\t')
+                        .append(createdAt).append('\n');
+                flushIfFull(copyIn, buffer);
+            }
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void copyRecipes(Connection connection, int recipes, int users, double authorSkew,
+                                    SplittableRandom random) throws SQLException {
+        ZipfSampler authors = new ZipfSampler(users, authorSkew);
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_RECIPES);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+            for (int id = 1; id <= recipes; id++) {
+                long authorId = ZipfSampler.scatter(authors.sample(random), users);
+                Instant createdAt = EPOCH.minusSeconds(random.nextLong(RECIPE_AGE_SECONDS));
+                Instant updatedAt = random.nextInt(10) == 0
+                        ? createdAt.plusSeconds(random.nextLong(30L * 24 * 3600))
+                        : createdAt;
+                buffer.append(id).append('\t')
+                        .append(RecipeVocabulary.title(random, Integer.toString(id))).append('\t')
+                        .append(RecipeVocabulary.description(random)).append('\t')
+                        .append(5 + random.nextInt(4) * random.nextInt(16)).append('\t')
+                        .append(random.nextInt(8) * random.nextInt(31)).append('\t')
+                        .append(1 + random.nextInt(8)).append('\t')
+                        .append(difficulty(random)).append('\t')
+                        .append(authorId).append('\t')
+                        .append(createdAt).append('\t')
+                        .append(updatedAt).append('\n');
+                flushIfFull(copyIn, buffer);
+                if (id % PROGRESS_EVERY == 0) {
+                    System.out.printf("  %d recipes%n", id);
+                }
+            }
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static String difficulty(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 50 ? "EASY" : roll < 85 ? "MEDIUM" : "HARD";
+    }
+
+    private static void flushIfFull(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() >= COPY_BUFFER_SIZE) {
+            flush(copyIn, buffer);
+        }
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
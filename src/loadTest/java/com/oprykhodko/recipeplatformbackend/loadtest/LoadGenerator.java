@@ -0,0 +1,154 @@
+package com.oprykhodko.recipeplatformbackend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator: {@code concurrency} workers each send the next request as soon as the
+ * previous one completes. Latencies are recorded per operation; the warmup period is discarded.
+ */
+final class LoadGenerator {
+
+    record Operation(String name, HttpRequest request) {
+    }
+
+    @FunctionalInterface
+    interface RequestSource {
+        Operation next(SplittableRandom random);
+    }
+
+    // rejected counts the errors that were admission-control 429/503 responses
+    record OperationStats(String name, long requests, long errors, long rejected, Histogram latencyMicros) {
+
+        double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double maxMillis() {
+            return latencyMicros.getMaxValue() / 1000.0;
+        }
+    }
+
+    record Result(String label, double seconds, OperationStats total, List<OperationStats> operations) {
+
+        double throughput(OperationStats stats) {
+            return stats.requests() / seconds;
+        }
+
+        List<String> summary() {
+            List<String> lines = new ArrayList<>();
+            lines.add(line(label, total));
+            if (operations.size() > 1) {
+                for (OperationStats operation : operations) {
+                    lines.add(line("  " + operation.name(), operation));
+                }
+            }
+            return lines;
+        }
+
+        private String line(String name, OperationStats stats) {
+            return String.format("%-28s requests=%d errors=%d rejected=%d throughput=%.1f req/s p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    name, stats.requests(), stats.errors(), stats.rejected(), throughput(stats),
+                    stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99),
+                    stats.maxMillis());
+        }
+    }
+
+    private static final class Counters {
+        final Recorder recorder = new Recorder(3);
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        void record(long latencyMicros, int status) {
+            recorder.recordValue(latencyMicros);
+            requests.increment();
+            if (status < 0 || status >= 400) {
+                errors.increment();
+            }
+            if (status == 429 || status == 503) {
+                rejected.increment();
+            }
+        }
+
+        OperationStats stats(String name) {
+            return new OperationStats(name, requests.sum(), errors.sum(), rejected.sum(), recorder.getIntervalHistogram());
+        }
+    }
+
+    private final HttpClient client;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    LoadGenerator(HttpClient client, int concurrency, Duration warmup, Duration duration) {
+        this.client = client;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    Result run(String label, RequestSource source, long seed) throws InterruptedException {
+        Counters total = new Counters();
+        Map<String, Counters> perOperation = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ThreadFactory workers = Thread.ofVirtual().name("load-" + label + "-", 0).factory();
+        try (var executor = Executors.newThreadPerTaskExecutor(workers)) {
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = seeds.split();
+                executor.submit(() -> work(source, random, total, perOperation, measureFrom, end));
+            }
+        }
+        double seconds = (System.nanoTime() - measureFrom) / 1e9;
+
+        List<OperationStats> operations = new ArrayList<>();
+        new TreeMap<>(perOperation).forEach((name, counters) -> operations.add(counters.stats(name)));
+        return new Result(label, seconds, total.stats("total"), operations);
+    }
+
+    private void work(RequestSource source, SplittableRandom random, Counters total,
+                      Map<String, Counters> perOperation, long measureFrom, long end) {
+        long now = System.nanoTime();
+        while (now < end) {
+            Operation operation = source.next(random);
+            long sent = now;
+            // -1 for requests that got no response at all
+            int status;
+            try {
+                HttpResponse<Void> response = client.send(operation.request(), HttpResponse.BodyHandlers.discarding());
+                status = response.statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            now = System.nanoTime();
+            if (sent >= measureFrom) {
+                long latencyMicros = Math.max(1, (now - sent) / 1000);
+                total.record(latencyMicros, status);
+                perOperation.computeIfAbsent(operation.name(), name -> new Counters()).record(latencyMicros, status);
+            }
+        }
+    }
+}
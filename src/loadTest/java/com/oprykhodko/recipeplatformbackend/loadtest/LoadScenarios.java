@@ -0,0 +1,110 @@
+package com.oprykhodko.recipeplatformbackend.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weighted request mixes against a database populated by {@link DataGeneratorMain} with the same
+ * {@code users}/{@code recipes} counts. Recipe reads follow a Zipf popularity over the recipe ids and
+ * per-author listings use the generator's author skew, so hot authors are also the prolific ones.
+ */
+final class LoadScenarios {
+
+    static final List<String> NAMES = List.of("read-heavy", "write-heavy", "search-mixed");
+
+    private static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+
+    private final URI baseUrl;
+    private final int recipes;
+    private final int users;
+    private final ZipfSampler recipePopularity;
+    private final ZipfSampler authorPopularity;
+    private final int importBatchSize;
+    private final String runId;
+    private final AtomicLong importedTitles = new AtomicLong();
+
+    LoadScenarios(URI baseUrl, int recipes, int users, double recipeSkew, double authorSkew,
+                  int importBatchSize, String runId) {
+        this.baseUrl = baseUrl;
+        this.recipes = recipes;
+        this.users = users;
+        this.recipePopularity = new ZipfSampler(recipes, recipeSkew);
+        this.authorPopularity = new ZipfSampler(users, authorSkew);
+        this.importBatchSize = importBatchSize;
+        this.runId = runId;
+    }
+
+    LoadGenerator.RequestSource scenario(String name) {
+        return switch (name) {
+            case "read-heavy" -> random -> {
+                int roll = random.nextInt(100);
+                return roll < 60 ? recipeDetail(random) : roll < 85 ? recipeList(random) : authorRecipes(random);
+            };
+            case "write-heavy" -> random -> {
+                int roll = random.nextInt(100);
+                return roll < 50 ? importBatch(random) : roll < 85 ? recipeDetail(random) : recipeList(random);
+            };
+            case "search-mixed" -> random -> {
+                int roll = random.nextInt(100);
+                return roll < 50 ? search(random) : roll < 85 ? recipeDetail(random) : recipeList(random);
+            };
+            default -> throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + NAMES);
+        };
+    }
+
+    private LoadGenerator.Operation recipeDetail(SplittableRandom random) {
+        long id = ZipfSampler.scatter(recipePopularity.sample(random), recipes);
+        return new LoadGenerator.Operation("GET /recipes/{id}", LoadTestMain.get(baseUrl, "/recipes/" + id));
+    }
+
+    private LoadGenerator.Operation recipeList(SplittableRandom random) {
+        String path = random.nextInt(10) < 3
+                ? "/recipes?size=20&difficulty=" + DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]
+                : "/recipes?size=20";
+        return new LoadGenerator.Operation("GET /recipes", LoadTestMain.get(baseUrl, path));
+    }
+
+    private LoadGenerator.Operation authorRecipes(SplittableRandom random) {
+        long userId = ZipfSampler.scatter(authorPopularity.sample(random), users);
+        return new LoadGenerator.Operation("GET /recipes?userId",
+                LoadTestMain.get(baseUrl, "/recipes?size=20&userId=" + userId));
+    }
+
+    private LoadGenerator.Operation search(SplittableRandom random) {
+        String query = random.nextBoolean()
+                ? RecipeVocabulary.ingredient(random)
+                : RecipeVocabulary.ingredient(random) + " " + RecipeVocabulary.ingredient(random);
+        String path = "/recipes/search?size=20&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8);
+        if (random.nextInt(10) < 3) {
+            path += "&difficulty=" + DIFFICULTIES[random.nextInt(DIFFICULTIES.length)];
+        }
+        return new LoadGenerator.Operation("GET /recipes/search", LoadTestMain.get(baseUrl, path));
+    }
+
+    private LoadGenerator.Operation importBatch(SplittableRandom random) {
+        long userId = ZipfSampler.scatter(authorPopularity.sample(random), users);
+        StringBuilder body = new StringBuilder(importBatchSize * 256);
+        for (int i = 0; i < importBatchSize; i++) {
+            String title = RecipeVocabulary.title(random, runId + "-" + importedTitles.incrementAndGet());
+            body.append("{\"title\":\"").append(title)
+                    .append("\",\"description\":\"").append(RecipeVocabulary.description(random))
+                    .append("\",\"prepTimeMinutes\":").append(5 + random.nextInt(40))
+                    .append(",\"cookTimeMinutes\":").append(random.nextInt(120))
+                    .append(",\"servings\":").append(1 + random.nextInt(8))
+                    .append(",\"difficulty\":\"").append(DIFFICULTIES[random.nextInt(DIFFICULTIES.length)])
+                    .append("\"}\n");
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/recipes/import?mode=JPA&userId=" + userId))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        return new LoadGenerator.Operation("POST /recipes/import", request);
+    }
+}
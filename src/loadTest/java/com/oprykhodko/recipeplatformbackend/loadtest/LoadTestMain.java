@@ -0,0 +1,164 @@
+package com.oprykhodko.recipeplatformbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Drives a running instance and prints throughput and latency percentiles. The default
+ * {@code read-endpoints} scenario loads each recipe read endpoint in turn; the {@link LoadScenarios}
+ * mixes expect data produced by {@link DataGeneratorMain}.
+ *
+ * <pre>
+ * ./gradlew loadTest --args="--base-url=http://localhost:8080 --concurrency=200 --duration=60 --label=virtual"
+ * ./gradlew loadTest --args="--scenario=all --users=10000 --recipes=200000 --output=build/loadtest/scenarios.csv"
+ * </pre>
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        URI baseUrl = URI.create(options.getOrDefault("base-url", "http://localhost:8080"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String label = options.getOrDefault("label", "run");
+        Path output = options.containsKey("output") ? Path.of(options.get("output")) : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadGenerator generator = new LoadGenerator(client, concurrency, warmup, duration);
+
+        String scenario = options.getOrDefault("scenario", "read-endpoints");
+        List<LoadGenerator.Result> results = new ArrayList<>();
+        if (scenario.equals("read-endpoints")) {
+            results.addAll(readEndpoints(client, generator, baseUrl, label, seed));
+        } else {
+            LoadScenarios scenarios = new LoadScenarios(baseUrl,
+                    Integer.parseInt(options.getOrDefault("recipes", "200000")),
+                    Integer.parseInt(options.getOrDefault("users", "10000")),
+                    Double.parseDouble(options.getOrDefault("recipe-skew", "1.0")),
+                    Double.parseDouble(options.getOrDefault("author-skew", "1.1")),
+                    Integer.parseInt(options.getOrDefault("import-batch", "10")),
+                    label + "-" + Long.toString(System.currentTimeMillis(), 36));
+            List<String> names = scenario.equals("all") ? LoadScenarios.NAMES : List.of(scenario.split(","));
+            for (String name : names) {
+                results.add(generator.run(label + ":" + name, scenarios.scenario(name), seed));
+            }
+        }
+
+        for (LoadGenerator.Result result : results) {
+            result.summary().forEach(System.out::println);
+            if (result.total().rejected() > 0) {
+                System.err.printf("WARNING: %s: %d requests were rejected by admission control (429/503). All workers "
+                        + "share one client address, so start the application with ADMISSION_CONTROL_ENABLED=false "
+                        + "to measure the endpoints rather than the rate limits.%n", result.label(), result.total().rejected());
+            }
+        }
+        if (output != null) {
+            appendCsv(output, concurrency, results);
+        }
+    }
+
+    // One run per read endpoint against whatever data the instance has; used to compare thread modes
+    private static List<LoadGenerator.Result> readEndpoints(HttpClient client, LoadGenerator generator, URI baseUrl,
+                                                            String label, long seed) throws Exception {
+        RecipeSample sample = RecipeSample.fetch(client, baseUrl);
+        System.out.printf("Sampled %d recipe ids and %d search terms from %s%n",
+                sample.ids().size(), sample.terms().size(), baseUrl);
+
+        List<LoadGenerator.Result> results = new ArrayList<>();
+        results.add(generator.run(label + ":list", random -> new LoadGenerator.Operation("GET /recipes",
+                get(baseUrl, "/recipes?size=20")), seed));
+        results.add(generator.run(label + ":detail", random -> new LoadGenerator.Operation("GET /recipes/{id}",
+                get(baseUrl, "/recipes/" + sample.ids().get(random.nextInt(sample.ids().size())))), seed));
+        results.add(generator.run(label + ":search", random -> new LoadGenerator.Operation("GET /recipes/search",
+                get(baseUrl, "/recipes/search?size=20&q=" + URLEncoder.encode(
+                        sample.terms().get(random.nextInt(sample.terms().size())), StandardCharsets.UTF_8))), seed));
+        return results;
+    }
+
+    static HttpRequest get(URI baseUrl, String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUrl.resolve(pathAndQuery))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static void appendCsv(Path output, int concurrency, List<LoadGenerator.Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (Files.notExists(output)) {
+            lines.add("label,operation,concurrency,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+        }
+        for (LoadGenerator.Result result : results) {
+            lines.add(csvLine(result, result.total(), concurrency));
+            for (LoadGenerator.OperationStats operation : result.operations()) {
+                lines.add(csvLine(result, operation, concurrency));
+            }
+        }
+        Files.write(output, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String csvLine(LoadGenerator.Result result, LoadGenerator.OperationStats stats, int concurrency) {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                result.label(), stats.name(), concurrency, stats.requests(), stats.errors(), result.throughput(stats),
+                stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99), stats.maxMillis());
+    }
+
+    record RecipeSample(List<Long> ids, List<String> terms) {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        static RecipeSample fetch(HttpClient client, URI baseUrl) throws IOException, InterruptedException {
+            HttpResponse<String> response = client.send(get(baseUrl, "/recipes?size=100"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /recipes returned " + response.statusCode());
+            }
+            List<Long> ids = new ArrayList<>();
+            List<String> terms = new ArrayList<>();
+            for (JsonNode item : MAPPER.readTree(response.body()).path("items")) {
+                ids.add(item.path("id").asLong());
+                String title = item.path("title").asText();
+                int space = title.indexOf(' ');
+                terms.add(space > 0 ? title.substring(0, space) : title);
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("No recipes to load test against; seed the database first");
+            }
+            return new RecipeSample(ids, terms);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.oprykhodko.recipeplatformbackend.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Word lists shared by the data generator and the load scenarios, so that generated titles and
+ * descriptions contain the terms the search scenario queries for. Ingredients are ordered roughly by how
+ * common they are; generated text picks them with a Zipf distribution.
+ */
+final class RecipeVocabulary {
+
+    static final String[] INGREDIENTS = {
+            "chicken", "garlic", "tomato", "onion", "potato", "rice", "beef", "mushroom", "lemon", "cheese",
+            "pasta", "egg", "spinach", "pork", "salmon", "carrot", "ginger", "chickpea", "lentil", "basil",
+            "pepper", "coconut", "shrimp", "tofu", "avocado", "pumpkin", "zucchini", "eggplant", "cabbage", "corn",
+            "lamb", "cod", "quinoa", "broccoli", "cauliflower", "apple", "banana", "chocolate", "almond", "walnut",
+            "honey", "yogurt", "feta", "halloumi", "kale", "leek", "fennel", "beetroot", "duck", "turkey",
+            "mango", "pineapple", "strawberry", "blueberry", "raspberry", "peach", "pear", "fig", "date", "saffron"
+    };
+
+    private static final String[] STYLES = {
+            "roasted", "grilled", "braised", "spicy", "creamy", "smoky", "crispy", "slow-cooked", "stuffed", "glazed",
+            "baked", "fried", "steamed", "pickled", "charred", "herby", "tangy", "sticky", "zesty", "rustic"
+    };
+
+    private static final String[] DISHES = {
+            "soup", "stew", "curry", "salad", "risotto", "pie", "tart", "bowl", "skewers", "tacos",
+            "burger", "noodles", "casserole", "gratin", "frittata", "flatbread", "dumplings", "pancakes", "cake", "stir-fry"
+    };
+
+    private static final String[] CUISINES = {
+            "Italian", "Mexican", "Thai", "Indian", "Greek", "Japanese", "Moroccan", "French", "Korean", "Lebanese"
+    };
+
+    private static final ZipfSampler INGREDIENT_POPULARITY = new ZipfSampler(INGREDIENTS.length, 1.0);
+
+    private RecipeVocabulary() {
+    }
+
+    static String ingredient(SplittableRandom random) {
+        return INGREDIENTS[INGREDIENT_POPULARITY.sample(random) - 1];
+    }
+
+    // The numeric suffix keeps titles unique, as required by recipes.title
+    static String title(SplittableRandom random, String suffix) {
+        return pick(random, STYLES) + " " + ingredient(random) + " " + pick(random, DISHES) + " #" + suffix;
+    }
+
+    static String description(SplittableRandom random) {
+        return pick(random, CUISINES) + "-style " + pick(random, DISHES) + " with "
+                + ingredient(random) + ", " + ingredient(random) + " and " + ingredient(random) + ".";
+    }
+
+    private static String pick(SplittableRandom random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
@@ -0,0 +1,201 @@
+package com.oprykhodko.recipeplatformbackend.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oprykhodko.recipeplatformbackend.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admission control in front of the controllers, so a misbehaving client is turned away before it holds a
+// request thread or a pooled connection. A client over its endpoint class's rate gets 429; once an endpoint
+// class has maxConcurrent requests in flight, further requests wait up to maxQueueWait and then get 503,
+// rather than queueing on the Hikari pool for the whole connection timeout. Both carry Retry-After.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    // A bucket idle this long has refilled completely, so dropping it changes nothing
+    private static final Duration BUCKET_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final AdmissionProperties properties;
+    private final Map<EndpointClass, Semaphore> concurrencyLimits = new EnumMap<>(EndpointClass.class);
+    // Registered up front, so shedding load never touches the meter registry
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> overloaded = new EnumMap<>(EndpointClass.class);
+    private final Cache<ClientKey, TokenBucket> buckets;
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedClients())
+                .expireAfterAccess(BUCKET_IDLE_TIMEOUT)
+                .build();
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rateLimited.put(endpointClass, rejectedCounter(meterRegistry, endpointClass, "rate_limited"));
+            overloaded.put(endpointClass, rejectedCounter(meterRegistry, endpointClass, "overloaded"));
+            int maxConcurrent = properties.limits(endpointClass).maxConcurrent();
+            if (maxConcurrent > 0) {
+                Semaphore semaphore = new Semaphore(maxConcurrent);
+                concurrencyLimits.put(endpointClass, semaphore);
+                Gauge.builder("http.server.requests.admitted.active", semaphore, s -> maxConcurrent - s.availablePermits())
+                        .description("Requests holding a concurrency permit of their endpoint class")
+                        .tag("endpoint", tagValue(endpointClass))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private record ClientKey(EndpointClass endpointClass, String client) {
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || endpointClass(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = endpointClass(request);
+        AdmissionProperties.EndpointLimits limits = properties.limits(endpointClass);
+
+        if (limits.permitsPerSecond() > 0) {
+            TokenBucket bucket = buckets.get(new ClientKey(endpointClass, client(request)),
+                    key -> new TokenBucket(limits.permitsPerSecond(), limits.burst()));
+            long waitNanos = bucket.tryAcquire(System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, endpointClass, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+                return;
+            }
+        }
+
+        Semaphore semaphore = concurrencyLimits.get(endpointClass);
+        if (semaphore == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!acquire(semaphore, limits.maxQueueWait())) {
+            reject(response, endpointClass, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        Permit permit = new Permit(semaphore);
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            // Streamed responses keep the permit until the async request completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    private static EndpointClass endpointClass(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return EndpointClass.of(request.getMethod(), path);
+    }
+
+    // There is no authentication layer yet; an authenticated principal is preferred as soon as one is set.
+    // The remote address honours X-Forwarded-For only when server.forward-headers-strategy trusts the proxy.
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean acquire(Semaphore semaphore, Duration maxQueueWait) {
+        if (maxQueueWait.isZero()) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, EndpointClass endpointClass, String reason) {
+        return Counter.builder("http.server.requests.rejected")
+                .description("Requests turned away by admission control")
+                .tag("endpoint", tagValue(endpointClass))
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass, HttpStatus status, long retryAfterNanos)
+            throws IOException {
+        (status == HttpStatus.TOO_MANY_REQUESTS ? rateLimited : overloaded).get(endpointClass).increment();
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999) / 1_000_000_000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(status.value(), status == HttpStatus.TOO_MANY_REQUESTS
+                ? "Rate limit exceeded"
+                : "Server is overloaded");
+    }
+
+    private static String tagValue(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase(Locale.ROOT);
+    }
+
+    // Released exactly once, whether the request completes on the request thread or asynchronously
+    private static final class Permit implements AsyncListener {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
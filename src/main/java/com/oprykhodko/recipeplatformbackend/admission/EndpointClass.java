@@ -0,0 +1,33 @@
+package com.oprykhodko.recipeplatformbackend.admission;
+
+import java.util.Set;
+
+// Endpoints grouped by what they cost the database; each class has its own rate and concurrency limits
+public enum EndpointClass {
+    // Single-recipe and list reads, mostly served from caches, replicas or in-memory indexes
+    READ,
+    // Full-text and filtered queries that scan indexes per request
+    SEARCH,
+    // Updates, always on the primary
+    WRITE,
+    // Imports, batch upserts and the catalogue export, which hold a connection for a long time
+    BULK;
+
+    private static final Set<String> BULK_PATHS = Set.of("/recipes/import", "/recipes/batch", "/recipes/export");
+    private static final Set<String> SEARCH_PATHS = Set.of("/recipes/search", "/recipes/by-ingredients", "/feed/browse");
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    // Null for requests that are never limited, such as actuator endpoints
+    public static EndpointClass of(String method, String path) {
+        if (path.startsWith("/actuator")) {
+            return null;
+        }
+        if (BULK_PATHS.contains(path)) {
+            return BULK;
+        }
+        if (!SAFE_METHODS.contains(method)) {
+            return WRITE;
+        }
+        return SEARCH_PATHS.contains(path) ? SEARCH : READ;
+    }
+}
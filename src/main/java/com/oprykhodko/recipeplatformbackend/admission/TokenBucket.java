@@ -0,0 +1,33 @@
+package com.oprykhodko.recipeplatformbackend.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time" in an AtomicLong.
+// Every admitted request pushes it one emission interval further; a request is refused when that would put it
+// more than burst intervals ahead of now. Concurrent callers retry a compare-and-set instead of blocking.
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(double permitsPerSecond, int burst) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000 / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+    }
+
+    // Zero when a token was taken, otherwise how long until the next one becomes available
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
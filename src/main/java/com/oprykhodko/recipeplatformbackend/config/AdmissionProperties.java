@@ -0,0 +1,32 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import com.oprykhodko.recipeplatformbackend.admission.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Per endpoint class: a token bucket per client (permitsPerSecond refill, burst capacity) and a concurrency
+// limit shared by all clients, waited on for at most maxQueueWait. Zero disables either limit.
+@ConfigurationProperties(prefix = "recipes.admission")
+public record AdmissionProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("100000") long maxTrackedClients,
+                                  Map<EndpointClass, EndpointLimits> endpoints) {
+
+    private static final EndpointLimits UNLIMITED = new EndpointLimits(0, 1, 0, Duration.ZERO);
+
+    public AdmissionProperties {
+        endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+    }
+
+    public record EndpointLimits(@DefaultValue("0") double permitsPerSecond,
+                                 @DefaultValue("1") int burst,
+                                 @DefaultValue("0") int maxConcurrent,
+                                 @DefaultValue("0ms") Duration maxQueueWait) {
+    }
+
+    public EndpointLimits limits(EndpointClass endpointClass) {
+        return endpoints.getOrDefault(endpointClass, UNLIMITED);
+    }
+}
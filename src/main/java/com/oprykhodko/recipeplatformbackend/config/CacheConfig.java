@@ -0,0 +1,14 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// The cache advice runs outside the transaction advice, so a cache hit never opens a transaction
+// or borrows a connection. Cache sizing and TTL live in spring.cache.caffeine.spec.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String RECIPE_DETAILS = "recipeDetails";
+}
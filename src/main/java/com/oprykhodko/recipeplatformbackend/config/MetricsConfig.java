@@ -0,0 +1,29 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import com.oprykhodko.recipeplatformbackend.metrics.RepositoryResultMetrics;
+import com.oprykhodko.recipeplatformbackend.metrics.RequestStatsHibernateInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Hibernate statistics, Hikari pool and repository timings are bound by Boot's actuator auto-configuration;
+// this adds the per-request SQL counts and repository row counts on top.
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    static RepositoryResultMetrics repositoryResultMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryResultMetrics(meterRegistry);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer requestStatsHibernateCustomizer() {
+        RequestStatsHibernateInterceptor interceptor = new RequestStatsHibernateInterceptor();
+        return properties -> {
+            properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "recipes.metrics")
+public record MetricsProperties(@DefaultValue("20") int sqlStatementsPerRequestThreshold) {
+}
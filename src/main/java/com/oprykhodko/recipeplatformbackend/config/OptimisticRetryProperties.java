@@ -0,0 +1,12 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recipes.optimistic-retry")
+public record OptimisticRetryProperties(@DefaultValue("5") int maxAttempts,
+                                        @DefaultValue("5ms") Duration initialBackoff,
+                                        @DefaultValue("200ms") Duration maxBackoff) {
+}
@@ -0,0 +1,15 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// flushInterval bounds how many views a crash can lose; maxPendingViews flushes early under heavy traffic.
+@ConfigurationProperties(prefix = "recipes.popularity")
+public record PopularityProperties(@DefaultValue("5s") Duration flushInterval,
+                                   @DefaultValue("100000") long maxPendingViews,
+                                   @DefaultValue("24h") Duration halfLife,
+                                   @DefaultValue("30s") Duration rankingRefreshInterval,
+                                   @DefaultValue("50") int rankingSize) {
+}
@@ -0,0 +1,44 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import com.oprykhodko.recipeplatformbackend.metrics.QueriesEndpoint;
+import com.oprykhodko.recipeplatformbackend.metrics.QueryTracer;
+import com.oprykhodko.recipeplatformbackend.metrics.TracingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Replaces show-sql and the Hibernate SQL/bind loggers: every DataSource is wrapped so statements are
+// timed, a sample is kept for /actuator/queries and slow ones are always logged. The wrapper stays when
+// tracing is disabled, as it also counts the statements of each request for SqlStatementBudgetFilter.
+@Configuration(proxyBeanMethods = false)
+public class QueryTracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recipes.query-tracing", name = "enabled", matchIfMissing = true)
+    QueryTracer queryTracer(QueryTracingProperties properties) {
+        return new QueryTracer(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "recipes.query-tracing", name = "enabled", matchIfMissing = true)
+    QueriesEndpoint queriesEndpoint(QueryTracer queryTracer) {
+        return new QueriesEndpoint(queryTracer);
+    }
+
+    @Bean
+    static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<QueryTracer> queryTracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource, queryTracer.getIfAvailable());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recipes.query-tracing")
+public record QueryTracingProperties(@DefaultValue("true") boolean enabled,
+                                     @DefaultValue("0.01") double sampleRate,
+                                     @DefaultValue("200ms") Duration slowThreshold,
+                                     @DefaultValue("1024") int bufferSize,
+                                     @DefaultValue("20") int slowestLimit) {
+}
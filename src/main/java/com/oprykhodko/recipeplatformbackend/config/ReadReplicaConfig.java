@@ -0,0 +1,99 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import com.oprykhodko.recipeplatformbackend.datasource.ReadWriteRoutingDataSource;
+import com.oprykhodko.recipeplatformbackend.datasource.ReadYourWritesFilter;
+import com.oprykhodko.recipeplatformbackend.datasource.ReplicaCacheModeJpaDialect;
+import com.oprykhodko.recipeplatformbackend.datasource.ReplicaLoadBalancer;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Active once recipes.datasource.replicas is configured. Replaces Boot's pooled DataSource with a single
+// routing DataSource bean wrapping the primary pool and the replica pools, so the rest of the application
+// (JPA, JdbcTemplate, Flyway, query tracing) keeps seeing one DataSource. Cache-filling loads are kept off
+// the replicas, see ReplicaCacheModeJpaDialect and RecipeService.reloadRecipeDetail.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "recipes.datasource", name = "replicas[0].url")
+public class ReadReplicaConfig {
+
+    @Bean
+    ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                          ReadReplicaProperties replicaProperties,
+                                          Environment environment,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<ReplicaLoadBalancer.Replica> replicas = new ArrayList<>();
+        List<ReadReplicaProperties.Replica> configured = replicaProperties.replicas();
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new ReplicaLoadBalancer.Replica(name,
+                    replicaPool(name, configured.get(i), dataSourceProperties, meterRegistry.getIfAvailable())));
+        }
+        ReplicaLoadBalancer balancer = new ReplicaLoadBalancer(primary, replicas,
+                replicaProperties.ejectionPeriod(), replicaProperties.healthCheckInterval());
+        return new ReadWriteRoutingDataSource(primary, balancer);
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadReplicaProperties replicaProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaProperties.readYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    // Must run before the factory bean initialises, which is when it adopts the vendor adapter's dialect
+    @Bean
+    static BeanPostProcessor replicaCacheModeJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Replica pools start lazily so an unreachable replica is ejected instead of failing startup
+    private static HikariDataSource replicaPool(String name, ReadReplicaProperties.Replica replica,
+                                                DataSourceProperties primary, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.url());
+        config.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+        config.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+        config.setMaximumPoolSize(replica.maximumPoolSize());
+        config.setConnectionTimeout(replica.connectionTimeout().toMillis());
+        config.setInitializationFailTimeout(-1);
+        config.setReadOnly(true);
+        if (meterRegistry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,22 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "recipes.datasource")
+public record ReadReplicaProperties(@DefaultValue List<Replica> replicas,
+                                    @DefaultValue("30s") Duration ejectionPeriod,
+                                    @DefaultValue("5s") Duration healthCheckInterval,
+                                    @DefaultValue("5s") Duration readYourWritesWindow) {
+
+    // username and password default to spring.datasource's
+    public record Replica(String url,
+                          String username,
+                          String password,
+                          @DefaultValue("10") int maximumPoolSize,
+                          @DefaultValue("2s") Duration connectionTimeout) {
+    }
+}
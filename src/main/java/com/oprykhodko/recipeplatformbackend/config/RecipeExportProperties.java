@@ -0,0 +1,14 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// fetchSize bounds the rows held in memory by the JDBC cursor; flushEveryRows bounds what waits in buffers.
+// timeout applies to the export request only; other async requests keep Spring MVC's default.
+@ConfigurationProperties(prefix = "recipes.export")
+public record RecipeExportProperties(@DefaultValue("1000") int fetchSize,
+                                     @DefaultValue("1000") int flushEveryRows,
+                                     @DefaultValue("1h") Duration timeout) {
+}
@@ -0,0 +1,9 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "recipes.import")
+public record RecipeImportProperties(@DefaultValue("500") int chunkSize,
+                                     @DefaultValue("100") int maxReportedErrors) {
+}
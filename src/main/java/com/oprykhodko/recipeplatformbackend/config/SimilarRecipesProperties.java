@@ -0,0 +1,20 @@
+package com.oprykhodko.recipeplatformbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// neighbours is the k of the precomputed top-k lists; parallelism sizes the fork-join pool of the batch build.
+// Changed recipes are refreshed every refreshInterval, everything is recomputed every rebuildInterval.
+@ConfigurationProperties(prefix = "recipes.similar")
+public record SimilarRecipesProperties(@DefaultValue("10") int neighbours,
+                                       @DefaultValue("0") int parallelism,
+                                       @DefaultValue("1000") int fetchSize,
+                                       @DefaultValue("30s") Duration refreshInterval,
+                                       @DefaultValue("6h") Duration rebuildInterval) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
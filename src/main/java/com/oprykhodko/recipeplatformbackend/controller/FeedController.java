@@ -0,0 +1,43 @@
+package com.oprykhodko.recipeplatformbackend.controller;
+
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeBrowsePage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.ServingsRange;
+import com.oprykhodko.recipeplatformbackend.dto.TotalTimeBucket;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.service.FeedService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/feed")
+public class FeedController {
+
+    private final FeedService feedService;
+
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping
+    public CursorPage<FeedItem> feed(@RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return feedService.findFeed(RecipeController.parseCursor(cursor, RecipeCursor::decode), size);
+    }
+
+    @GetMapping("/browse")
+    public RecipeBrowsePage browse(@RequestParam(required = false) Difficulty difficulty,
+                                   @RequestParam(required = false) TotalTimeBucket totalTime,
+                                   @RequestParam(required = false) ServingsRange servings,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return feedService.browse(difficulty, totalTime, servings,
+                RecipeController.parseCursor(cursor, RecipeCursor::decode), size);
+    }
+}
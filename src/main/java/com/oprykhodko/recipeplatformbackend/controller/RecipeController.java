@@ -0,0 +1,238 @@
+package com.oprykhodko.recipeplatformbackend.controller;
+
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.ExportFormat;
+import com.oprykhodko.recipeplatformbackend.dto.ImportFormat;
+import com.oprykhodko.recipeplatformbackend.dto.ImportMode;
+import com.oprykhodko.recipeplatformbackend.dto.IngredientMatchMode;
+import com.oprykhodko.recipeplatformbackend.dto.PopularRecipe;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportReport;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeIngredientMatch;
+import com.oprykhodko.recipeplatformbackend.dto.RecipePatch;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSearchHit;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpdateRequest;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpsertReport;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
+import com.oprykhodko.recipeplatformbackend.dto.SearchCursor;
+import com.oprykhodko.recipeplatformbackend.dto.SimilarRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.exception.ResourceNotFoundException;
+import com.oprykhodko.recipeplatformbackend.service.PopularityService;
+import com.oprykhodko.recipeplatformbackend.service.RecipeExportService;
+import com.oprykhodko.recipeplatformbackend.service.RecipeImportService;
+import com.oprykhodko.recipeplatformbackend.service.RecipeIngredientService;
+import com.oprykhodko.recipeplatformbackend.service.RecipeIngredientService.UpdatedIngredients;
+import com.oprykhodko.recipeplatformbackend.service.RecipeService;
+import com.oprykhodko.recipeplatformbackend.service.RecipeUpdateService;
+import com.oprykhodko.recipeplatformbackend.service.RecipeUpdateService.UpdatedRecipe;
+import com.oprykhodko.recipeplatformbackend.service.SimilarRecipesService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/recipes")
+public class RecipeController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+    private final RecipeUpdateService recipeUpdateService;
+    private final RecipeExportService recipeExportService;
+    private final RecipeIngredientService recipeIngredientService;
+    private final PopularityService popularityService;
+    private final SimilarRecipesService similarRecipesService;
+
+    public RecipeController(RecipeService recipeService,
+                            RecipeImportService recipeImportService,
+                            RecipeUpdateService recipeUpdateService,
+                            RecipeExportService recipeExportService,
+                            RecipeIngredientService recipeIngredientService,
+                            PopularityService popularityService,
+                            SimilarRecipesService similarRecipesService) {
+        this.recipeService = recipeService;
+        this.recipeImportService = recipeImportService;
+        this.recipeUpdateService = recipeUpdateService;
+        this.recipeExportService = recipeExportService;
+        this.recipeIngredientService = recipeIngredientService;
+        this.popularityService = popularityService;
+        this.similarRecipesService = similarRecipesService;
+    }
+
+    @GetMapping
+    public CursorPage<RecipeSummary> listRecipes(@RequestParam(required = false) Difficulty difficulty,
+                                                 @RequestParam(required = false) Long userId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return recipeService.findRecipes(difficulty, userId, parseCursor(cursor, RecipeCursor::decode), size);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RecipeDetail> getRecipe(@PathVariable Long id, WebRequest request) {
+        RecipeVersion version = recipeService.findRecipeVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe", id));
+        // Counted here rather than in the service so cache hits and revalidations count as views too
+        popularityService.recordView(id);
+        // A client holding the current version gets a 304 without the detail ever being loaded
+        if (request.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        RecipeDetail detail = recipeService.findRecipeDetail(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe", id));
+        // The validators above describe the version row. A detail cached from before that version would pair
+        // old content with the new ETag and be revalidated with 304s until the next edit, so it is replaced;
+        // a reload reads the primary after the version row, so the body is never older than its ETag.
+        if (!detail.matches(version)) {
+            detail = recipeService.reloadRecipeDetail(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Recipe", id));
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(detail);
+    }
+
+    // If-Match with the ETag from a GET turns the update into a compare-and-set; 412 when the recipe moved on
+    @PutMapping("/{id}")
+    public ResponseEntity<RecipeDetail> replaceRecipe(@PathVariable Long id,
+                                                      @RequestHeader(name = "If-Match", required = false) String ifMatch,
+                                                      @Valid @RequestBody RecipeUpdateRequest request) {
+        return updated(recipeUpdateService.replace(id, ifMatch, request));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<RecipeDetail> patchRecipe(@PathVariable Long id,
+                                                    @RequestHeader(name = "If-Match", required = false) String ifMatch,
+                                                    @Valid @RequestBody RecipePatch patch) {
+        return updated(recipeUpdateService.patch(id, ifMatch, patch));
+    }
+
+    // Served from the precomputed neighbour index without touching the database; unknown ids get an empty list
+    @GetMapping("/{id}/similar")
+    public List<SimilarRecipe> similarRecipes(@PathVariable Long id,
+                                              @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return similarRecipesService.findSimilar(id, limit);
+    }
+
+    @GetMapping("/{id}/ingredients")
+    public List<String> getIngredients(@PathVariable Long id) {
+        return recipeIngredientService.findIngredients(id);
+    }
+
+    @PutMapping("/{id}/ingredients")
+    public ResponseEntity<List<String>> replaceIngredients(@PathVariable Long id,
+                                                           @RequestHeader(name = "If-Match", required = false) String ifMatch,
+                                                           @RequestBody @Size(max = 100) List<@NotBlank @Size(max = 100) String> ingredients) {
+        UpdatedIngredients updated = recipeIngredientService.replaceIngredients(id, ifMatch, ingredients);
+        return ResponseEntity.ok()
+                .eTag(updated.version().eTag())
+                .lastModified(updated.version().lastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(updated.ingredients());
+    }
+
+    // "Cook with what I have": ranked by how few ingredients are missing, answered from the in-memory index
+    @GetMapping("/by-ingredients")
+    public List<RecipeIngredientMatch> findByIngredients(@RequestParam @Size(min = 1, max = 50) List<@NotBlank String> ingredients,
+                                                         @RequestParam(defaultValue = "ALL") IngredientMatchMode match,
+                                                         @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return recipeIngredientService.findByIngredients(ingredients, match, limit);
+    }
+
+    // Written from the async request thread while the cursor is read, so nothing is buffered up front.
+    // A full export runs far longer than other async requests, so it carries its own timeout.
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportRecipes(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                            HttpServletResponse response) {
+        response.setContentType(format.mediaType());
+        response.setHeader("Content-Disposition", "attachment; filename=\"recipes." + format.name().toLowerCase(Locale.ROOT) + "\"");
+        return new WebAsyncTask<>(recipeExportService.timeout().toMillis(), () -> {
+            OutputStream out = response.getOutputStream();
+            recipeExportService.export(format, out);
+            out.flush();
+            return null;
+        });
+    }
+
+    @GetMapping("/popular")
+    public List<PopularRecipe> popularRecipes(@RequestParam(required = false) Difficulty difficulty,
+                                              @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return popularityService.findPopular(difficulty, limit);
+    }
+
+    @GetMapping("/search")
+    public CursorPage<RecipeSearchHit> searchRecipes(@RequestParam @NotBlank @Size(max = 200) String q,
+                                                     @RequestParam(required = false) Difficulty difficulty,
+                                                     @RequestParam(required = false) @Min(0) Integer maxTotalTime,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return recipeService.searchRecipes(q, difficulty, maxTotalTime, parseCursor(cursor, SearchCursor::decode), size);
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public RecipeImportReport importNdjson(@RequestParam Long userId,
+                                           @RequestParam(defaultValue = "JPA") ImportMode mode,
+                                           InputStream body) throws IOException {
+        return recipeImportService.importRecipes(body, ImportFormat.NDJSON, mode, userId);
+    }
+
+    @PostMapping(path = "/import", consumes = TEXT_CSV_VALUE)
+    public RecipeImportReport importCsv(@RequestParam Long userId,
+                                        @RequestParam(defaultValue = "JPA") ImportMode mode,
+                                        InputStream body) throws IOException {
+        return recipeImportService.importRecipes(body, ImportFormat.CSV, mode, userId);
+    }
+
+    @PutMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public RecipeUpsertReport upsertRecipes(@RequestParam Long userId, @RequestBody List<RecipeImportRow> rows) {
+        return recipeImportService.upsertRecipes(userId, rows);
+    }
+
+    private static ResponseEntity<RecipeDetail> updated(UpdatedRecipe updated) {
+        return ResponseEntity.ok()
+                .eTag(updated.version().eTag())
+                .lastModified(updated.version().lastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(updated.detail());
+    }
+
+    static <C> C parseCursor(String cursor, Function<String, C> decoder) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return decoder.apply(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.oprykhodko.recipeplatformbackend.controller;
+
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.UserPatch;
+import com.oprykhodko.recipeplatformbackend.dto.UserSummary;
+import com.oprykhodko.recipeplatformbackend.dto.UserRecipeStats;
+import com.oprykhodko.recipeplatformbackend.dto.UserWithRecipes;
+import com.oprykhodko.recipeplatformbackend.service.RecipeFacetCounter;
+import com.oprykhodko.recipeplatformbackend.service.UserService;
+import com.oprykhodko.recipeplatformbackend.service.UserUpdateService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    private final UserService userService;
+    private final UserUpdateService userUpdateService;
+    private final RecipeFacetCounter recipeFacetCounter;
+
+    public UserController(UserService userService, UserUpdateService userUpdateService,
+                          RecipeFacetCounter recipeFacetCounter) {
+        this.userService = userService;
+        this.userUpdateService = userUpdateService;
+        this.recipeFacetCounter = recipeFacetCounter;
+    }
+
+    @GetMapping
+    public CursorPage<UserSummary> listUsers(@RequestParam(required = false) Long afterId,
+                                             @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return userService.findUsers(afterId, size);
+    }
+
+    @GetMapping("/with-recipes")
+    public CursorPage<UserWithRecipes> listUsersWithRecipes(@RequestParam(required = false) Long afterId,
+                                                            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                                                            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int recipes) {
+        return userService.findUsersWithRecipes(afterId, size, recipes);
+    }
+
+    @GetMapping("/{id}/stats")
+    public UserRecipeStats userStats(@PathVariable Long id) {
+        return recipeFacetCounter.userStats(id);
+    }
+
+    @PatchMapping("/{id}")
+    public UserSummary patchUser(@PathVariable Long id, @Valid @RequestBody UserPatch patch) {
+        return userUpdateService.patch(id, patch);
+    }
+}
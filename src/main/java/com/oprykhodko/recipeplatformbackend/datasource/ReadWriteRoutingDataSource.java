@@ -0,0 +1,31 @@
+package com.oprykhodko.recipeplatformbackend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// The transaction manager marks @Transactional(readOnly = true) connections read-only before the first
+// statement; the lazy proxy only then picks the physical connection, from the replicas for read-only
+// work and from the primary otherwise.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private final HikariDataSource primary;
+    private final ReplicaLoadBalancer replicas;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, ReplicaLoadBalancer replicas) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    public ReplicaLoadBalancer getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        replicas.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.oprykhodko.recipeplatformbackend.datasource;
+
+// Marks the current thread as having to read from the primary, e.g. during and shortly after a write
+// by the same client. Checked by ReplicaLoadBalancer before it hands out a replica connection.
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void release() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.oprykhodko.recipeplatformbackend.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+// Read-only transactions that may run on a replica read the second-level and query caches but never put
+// into them: a lagging replica would otherwise refill an entry evicted after a commit with the pre-write
+// state, and it would stay there until its next write. Entries are filled by loads on the primary instead.
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    private record ReplicaTransactionData(Object delegate, Session session, CacheMode previousCacheMode) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || ReadYourWrites.isPinnedToPrimary()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replica) {
+            replica.session().setCacheMode(replica.previousCacheMode());
+            super.cleanupTransaction(replica.delegate());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+}
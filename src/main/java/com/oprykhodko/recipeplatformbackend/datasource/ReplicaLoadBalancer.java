@@ -0,0 +1,160 @@
+package com.oprykhodko.recipeplatformbackend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out replica connections round-robin. A replica that fails to produce a connection is ejected
+// for the ejection period; a background check re-admits it early once it answers again, or ejects
+// replicas that stopped answering before a request hits them. With no replica available, or when the
+// thread is pinned by ReadYourWrites, connections come from the primary.
+public class ReplicaLoadBalancer extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLoadBalancer.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    public static final class Replica implements AutoCloseable {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long ejectedUntilNanos;
+        private volatile boolean ejected;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean isEjected() {
+            return ejected;
+        }
+
+        boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntilNanos >= 0;
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long ejectionNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaLoadBalancer(DataSource primary, List<Replica> replicas, Duration ejectionPeriod,
+                               Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.ejectionNanos = ejectionPeriod.toNanos();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health").daemon().factory());
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    // The same replica selection, with the caller's credentials passed to the replica or primary pool
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private Connection connect(ConnectionOpener opener) throws SQLException {
+        if (ReadYourWrites.isPinnedToPrimary() || replicas.isEmpty()) {
+            return opener.open(primary);
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isAvailable(System.nanoTime())) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                if (replica.ejected) {
+                    reinstate(replica);
+                }
+                return connection;
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+        return opener.open(primary);
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    if (replica.ejected) {
+                        reinstate(replica);
+                    }
+                } else {
+                    eject(replica, null);
+                }
+            } catch (SQLException e) {
+                eject(replica, e);
+            } catch (RuntimeException e) {
+                log.warn("Health check of replica {} failed", replica.name, e);
+            }
+        }
+    }
+
+    private void eject(Replica replica, SQLException cause) {
+        replica.ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+        if (!replica.ejected) {
+            replica.ejected = true;
+            log.warn("Ejecting read replica {} for {} ms: {}", replica.name, ejectionNanos / 1_000_000,
+                    cause != null ? cause.getMessage() : "connection not valid");
+        }
+    }
+
+    private void reinstate(Replica replica) {
+        replica.ejected = false;
+        log.info("Read replica {} is healthy again", replica.name);
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.close();
+        }
+    }
+}
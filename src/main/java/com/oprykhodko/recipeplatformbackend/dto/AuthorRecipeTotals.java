@@ -0,0 +1,4 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public record AuthorRecipeTotals(long authorId, long recipes, long totalTimeMinutes) {
+}
@@ -0,0 +1,14 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public CursorPage {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.time.OffsetDateTime;
+
+public record FeedItem(Long recipeId,
+                       String title,
+                       Difficulty difficulty,
+                       Integer totalTimeMinutes,
+                       Integer servings,
+                       Long authorId,
+                       String authorUsername,
+                       String authorDisplayName,
+                       OffsetDateTime createdAt) {
+
+    public RecipeCursor cursor() {
+        return new RecipeCursor(createdAt, recipeId);
+    }
+}
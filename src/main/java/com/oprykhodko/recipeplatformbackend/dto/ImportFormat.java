@@ -0,0 +1,5 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public enum ImportFormat {
+    NDJSON, CSV
+}
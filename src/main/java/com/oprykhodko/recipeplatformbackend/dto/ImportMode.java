@@ -0,0 +1,10 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public enum ImportMode {
+    // Chunked JPA inserts with per-row error isolation
+    JPA,
+    // Multi-row INSERT ... ON CONFLICT (title) batches that skip rows whose content is unchanged
+    UPSERT,
+    // PostgreSQL COPY into a staging table followed by an upsert on title
+    COPY
+}
@@ -0,0 +1,7 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.util.List;
+
+// A recipe found by the ingredient index, with the ingredients it needs beyond the ones asked for
+public record IngredientMatch(long recipeId, int matchedIngredients, List<String> missingIngredients) {
+}
@@ -0,0 +1,6 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+// ALL: recipes that use every listed ingredient. ANY: recipes that use at least one of them.
+public enum IngredientMatchMode {
+    ALL, ANY
+}
@@ -0,0 +1,11 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+public record PopularRecipe(Long recipeId,
+                            String title,
+                            Difficulty difficulty,
+                            String authorUsername,
+                            long views,
+                            double score) {
+}
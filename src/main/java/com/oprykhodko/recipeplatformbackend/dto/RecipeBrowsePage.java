@@ -0,0 +1,10 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.util.List;
+
+public record RecipeBrowsePage(List<FeedItem> items, String nextCursor, RecipeFacetCounts facets) {
+
+    public RecipeBrowsePage {
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,47 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque position in the recipe listing: the (createdAt, id) of the last row of the previous page.
+ */
+public record RecipeCursor(OffsetDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public RecipeCursor {
+        Objects.requireNonNull(createdAt, "createdAt cannot be null");
+        Objects.requireNonNull(id, "id cannot be null");
+    }
+
+    public String encode() {
+        String raw = createdAt.toInstant().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RecipeCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+        try {
+            Instant createdAt = Instant.parse(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new RecipeCursor(createdAt.atOffset(ZoneOffset.UTC), id);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// Immutable detail view; safe to share between requests and to keep in caches. The version columns it was
+// read at let a cached copy be checked against the current RecipeVersion.
+public record RecipeDetail(Long id,
+                           String title,
+                           String description,
+                           Integer prepTimeMinutes,
+                           Integer cookTimeMinutes,
+                           Integer servings,
+                           Difficulty difficulty,
+                           Long authorId,
+                           String authorUsername,
+                           String authorDisplayName,
+                           OffsetDateTime createdAt,
+                           OffsetDateTime updatedAt,
+                           Long recipeVersion,
+                           Long authorVersion) {
+
+    public static RecipeDetail from(Recipe recipe) {
+        User author = recipe.getUser();
+        return new RecipeDetail(recipe.getId(), recipe.getTitle(), recipe.getDescription(),
+                recipe.getPrepTimeMinutes(), recipe.getCookTimeMinutes(), recipe.getServings(),
+                recipe.getDifficulty(), author.getId(), author.getUsername(), author.getDisplayName(),
+                recipe.getCreatedAt(), recipe.getUpdatedAt(), recipe.getVersion(), author.getVersion());
+    }
+
+    public boolean matches(RecipeVersion version) {
+        return Objects.equals(recipeVersion, version.recipeVersion())
+                && Objects.equals(authorVersion, version.authorVersion());
+    }
+}
@@ -0,0 +1,13 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.util.Map;
+
+// total matches all selected filters; each facet's counts apply the filters on the other facets only,
+// so they say how many recipes picking that value instead would show
+public record RecipeFacetCounts(long total,
+                                Map<Difficulty, Long> difficulty,
+                                Map<TotalTimeBucket, Long> totalTime,
+                                Map<ServingsRange, Long> servings) {
+}
@@ -0,0 +1,7 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+// How many recipes share one combination of facet values; a time or servings of null is unknown
+public record RecipeFacetGroup(Difficulty difficulty, Integer totalTimeMinutes, Integer servings, long recipes) {
+}
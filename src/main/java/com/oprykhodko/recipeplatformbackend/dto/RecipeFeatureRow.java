@@ -0,0 +1,10 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+public record RecipeFeatureRow(long id,
+                               String title,
+                               String description,
+                               Difficulty difficulty,
+                               int totalTimeMinutes) {
+}
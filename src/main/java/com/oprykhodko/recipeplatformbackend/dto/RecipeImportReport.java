@@ -0,0 +1,18 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.util.List;
+
+public record RecipeImportReport(long rowsRead,
+                                 long rowsImported,
+                                 long rowsFailed,
+                                 long durationMillis,
+                                 double rowsPerSecond,
+                                 List<RowError> errors) {
+
+    public RecipeImportReport {
+        errors = List.copyOf(errors);
+    }
+
+    public record RowError(long row, String message) {
+    }
+}
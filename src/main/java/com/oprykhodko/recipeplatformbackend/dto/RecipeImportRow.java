@@ -0,0 +1,11 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+public record RecipeImportRow(String title,
+                              String description,
+                              Integer prepTimeMinutes,
+                              Integer cookTimeMinutes,
+                              Integer servings,
+                              Difficulty difficulty) {
+}
@@ -0,0 +1,14 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.util.List;
+
+public record RecipeIngredientMatch(Long recipeId,
+                                    String title,
+                                    Difficulty difficulty,
+                                    Integer totalTimeMinutes,
+                                    String authorUsername,
+                                    int matchedIngredients,
+                                    List<String> missingIngredients) {
+}
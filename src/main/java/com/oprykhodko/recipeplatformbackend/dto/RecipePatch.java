@@ -0,0 +1,37 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+// Partial update: null fields are left untouched, so only the columns that are present end up in the UPDATE.
+public record RecipePatch(@Pattern(regexp = ".*\\S.*") @Size(max = 200) String title,
+                          @Pattern(regexp = "(?s).*\\S.*") @Size(max = 1000) String description,
+                          @Min(0) Integer prepTimeMinutes,
+                          @Min(0) Integer cookTimeMinutes,
+                          @Min(1) Integer servings,
+                          Difficulty difficulty) {
+
+    public void applyTo(Recipe recipe) {
+        if (title != null) {
+            recipe.setTitle(title);
+        }
+        if (description != null) {
+            recipe.setDescription(description);
+        }
+        if (prepTimeMinutes != null) {
+            recipe.setPrepTimeMinutes(prepTimeMinutes);
+        }
+        if (cookTimeMinutes != null) {
+            recipe.setCookTimeMinutes(cookTimeMinutes);
+        }
+        if (servings != null) {
+            recipe.setServings(servings);
+        }
+        if (difficulty != null) {
+            recipe.setDifficulty(difficulty);
+        }
+    }
+}
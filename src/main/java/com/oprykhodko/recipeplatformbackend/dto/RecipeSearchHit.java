@@ -0,0 +1,8 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public record RecipeSearchHit(RecipeSummary recipe, float rank) {
+
+    public SearchCursor cursor() {
+        return new SearchCursor(rank, recipe.id());
+    }
+}
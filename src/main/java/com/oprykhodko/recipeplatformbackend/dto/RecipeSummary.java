@@ -0,0 +1,20 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.time.OffsetDateTime;
+
+public record RecipeSummary(Long id,
+                            String title,
+                            Difficulty difficulty,
+                            Integer prepTimeMinutes,
+                            Integer cookTimeMinutes,
+                            Integer servings,
+                            Long authorId,
+                            String authorUsername,
+                            OffsetDateTime createdAt) {
+
+    public RecipeCursor cursor() {
+        return new RecipeCursor(createdAt, id);
+    }
+}
@@ -0,0 +1,16 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Full replacement of the editable recipe fields; the author cannot be changed.
+public record RecipeUpdateRequest(@NotBlank @Size(max = 200) String title,
+                                  @NotBlank @Size(max = 1000) String description,
+                                  @NotNull @Min(0) Integer prepTimeMinutes,
+                                  @NotNull @Min(0) Integer cookTimeMinutes,
+                                  @NotNull @Min(1) Integer servings,
+                                  @NotNull Difficulty difficulty) {
+}
@@ -0,0 +1,30 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.util.List;
+
+public record RecipeUpsertReport(long created,
+                                 long updated,
+                                 long unchanged,
+                                 long rejected,
+                                 List<RecipeUpsertResult> rows) {
+
+    public RecipeUpsertReport {
+        rows = List.copyOf(rows);
+    }
+
+    public static RecipeUpsertReport of(List<RecipeUpsertResult> rows) {
+        long created = 0;
+        long updated = 0;
+        long unchanged = 0;
+        long rejected = 0;
+        for (RecipeUpsertResult row : rows) {
+            switch (row.status()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case UNCHANGED, DUPLICATE -> unchanged++;
+                case CONFLICT, INVALID -> rejected++;
+            }
+        }
+        return new RecipeUpsertReport(created, updated, unchanged, rejected, rows);
+    }
+}
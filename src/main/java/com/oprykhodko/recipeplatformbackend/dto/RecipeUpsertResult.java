@@ -0,0 +1,8 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public record RecipeUpsertResult(String title, Long recipeId, UpsertStatus status, String message) {
+
+    public static RecipeUpsertResult of(String title, Long recipeId, UpsertStatus status) {
+        return new RecipeUpsertResult(title, recipeId, status, null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+// Version columns of a recipe detail. The detail embeds the author's names, so the author's version
+// is part of it as well.
+public record RecipeVersion(Long id,
+                            Long recipeVersion,
+                            Long authorVersion,
+                            OffsetDateTime recipeUpdatedAt,
+                            OffsetDateTime authorUpdatedAt) {
+
+    public static RecipeVersion of(Recipe recipe) {
+        return new RecipeVersion(recipe.getId(), recipe.getVersion(), recipe.getUser().getVersion(),
+                recipe.getUpdatedAt(), recipe.getUser().getUpdatedAt());
+    }
+
+    // Strong validator: changes whenever the recipe or its author row is updated
+    public String eTag() {
+        return "\"" + id + '-' + recipeVersion + '-' + authorVersion + "\"";
+    }
+
+    // Strong comparison as required for If-Match; a missing header or "*" matches any version
+    public boolean matches(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String eTag = eTag();
+        for (String candidate : ifMatch.split(",")) {
+            if (candidate.trim().equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Instant lastModified() {
+        Instant recipe = recipeUpdatedAt == null ? Instant.EPOCH : recipeUpdatedAt.toInstant();
+        Instant author = authorUpdatedAt == null ? Instant.EPOCH : authorUpdatedAt.toInstant();
+        return recipe.isAfter(author) ? recipe : author;
+    }
+}
@@ -0,0 +1,39 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+// Browse facet over servings; each range covers the servings between its bounds, both inclusive.
+// Recipes without a positive servings count are counted as UNKNOWN rather than as small ones.
+public enum ServingsRange {
+    ONE_TO_TWO(1, 2),
+    THREE_TO_FOUR(3, 4),
+    FIVE_TO_SIX(5, 6),
+    SEVEN_OR_MORE(7, Integer.MAX_VALUE),
+    UNKNOWN(Integer.MIN_VALUE, 0);
+
+    private final int minServings;
+    private final int maxServings;
+
+    ServingsRange(int minServings, int maxServings) {
+        this.minServings = minServings;
+        this.maxServings = maxServings;
+    }
+
+    public int minServings() {
+        return minServings;
+    }
+
+    public int maxServings() {
+        return maxServings;
+    }
+
+    public static ServingsRange of(Integer servings) {
+        if (servings == null || servings < ONE_TO_TWO.minServings) {
+            return UNKNOWN;
+        }
+        for (ServingsRange range : values()) {
+            if (servings <= range.maxServings) {
+                return range;
+            }
+        }
+        return SEVEN_OR_MORE;
+    }
+}
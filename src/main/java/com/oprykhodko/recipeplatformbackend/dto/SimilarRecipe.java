@@ -0,0 +1,9 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+public record SimilarRecipe(Long recipeId,
+                            String title,
+                            Difficulty difficulty,
+                            double score) {
+}
@@ -0,0 +1,40 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+// Browse facet over prep + cook time; each bucket covers the minutes between its bounds, both inclusive.
+// Recipes missing either time, or with a negative total, are counted as UNKNOWN rather than as quick ones.
+public enum TotalTimeBucket {
+    UP_TO_15(0, 15),
+    UP_TO_30(16, 30),
+    UP_TO_60(31, 60),
+    UP_TO_120(61, 120),
+    OVER_120(121, Integer.MAX_VALUE),
+    UNKNOWN(Integer.MIN_VALUE, -1);
+
+    private final int minMinutes;
+    private final int maxMinutes;
+
+    TotalTimeBucket(int minMinutes, int maxMinutes) {
+        this.minMinutes = minMinutes;
+        this.maxMinutes = maxMinutes;
+    }
+
+    public int minMinutes() {
+        return minMinutes;
+    }
+
+    public int maxMinutes() {
+        return maxMinutes;
+    }
+
+    public static TotalTimeBucket of(Integer totalTimeMinutes) {
+        if (totalTimeMinutes == null || totalTimeMinutes < UP_TO_15.minMinutes) {
+            return UNKNOWN;
+        }
+        for (TotalTimeBucket bucket : values()) {
+            if (totalTimeMinutes <= bucket.maxMinutes) {
+                return bucket;
+            }
+        }
+        return OVER_120;
+    }
+}
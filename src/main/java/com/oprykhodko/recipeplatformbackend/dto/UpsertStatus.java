@@ -0,0 +1,16 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public enum UpsertStatus {
+    // No recipe had this title yet
+    CREATED,
+    // The title existed and at least one column differed
+    UPDATED,
+    // The title existed with identical content, so the row was not written at all
+    UNCHANGED,
+    // A later row in the same request carries the same title and wins
+    DUPLICATE,
+    // The title belongs to a recipe of another user
+    CONFLICT,
+    // The row failed validation
+    INVALID
+}
@@ -0,0 +1,20 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+// Partial update of a user's profile; null fields are left untouched.
+public record UserPatch(@Email @Pattern(regexp = ".*\\S.*") @Size(max = 100) String email,
+                        @Size(max = 100) String displayName) {
+
+    public void applyTo(User user) {
+        if (email != null) {
+            user.setEmail(email);
+        }
+        if (displayName != null) {
+            user.setDisplayName(displayName);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+public record UserRecipeStats(Long userId, long recipeCount, double averageTotalTimeMinutes) {
+}
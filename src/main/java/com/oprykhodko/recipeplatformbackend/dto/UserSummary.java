@@ -0,0 +1,6 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.time.OffsetDateTime;
+
+public record UserSummary(Long id, String username, String displayName, OffsetDateTime createdAt) {
+}
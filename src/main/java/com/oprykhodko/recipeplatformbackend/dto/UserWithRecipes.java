@@ -0,0 +1,10 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import java.util.List;
+
+public record UserWithRecipes(UserSummary user, List<RecipeSummary> recipes) {
+
+    public UserWithRecipes {
+        recipes = List.copyOf(recipes);
+    }
+}
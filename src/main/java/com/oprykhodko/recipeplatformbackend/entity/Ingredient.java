@@ -0,0 +1,66 @@
+package com.oprykhodko.recipeplatformbackend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Locale;
+import java.util.Objects;
+
+@Entity
+@Table(name = "ingredients")
+public class Ingredient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredients_id_seq")
+    @SequenceGenerator(name = "ingredients_id_seq", sequenceName = "ingredients_id_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "name", nullable = false, length = 100, unique = true)
+    private String name;
+
+    protected Ingredient() {
+    }
+
+    public Ingredient(String name) {
+        this.name = normalizeName(Objects.requireNonNull(name, "Name cannot be null"));
+    }
+
+    // "  Green  Onion " and "green onion" are the same ingredient
+    public static String normalizeName(String name) {
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Ingredient ingredient)) return false;
+        return Objects.equals(id, ingredient.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Ingredient{id=" + id + ", name='" + name + "'}";
+    }
+}
@@ -1,8 +1,12 @@
 package com.oprykhodko.recipeplatformbackend.entity;
 
+import com.oprykhodko.recipeplatformbackend.event.RecipeEntityListener;
+import com.oprykhodko.recipeplatformbackend.event.RecipeFacetsChangedEvent;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -10,24 +14,40 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 @Entity
+@Cacheable
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipes")
+@EntityListeners(RecipeEntityListener.class)
 @Table(name = "recipes")
 public class Recipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_id_seq")
+    @SequenceGenerator(name = "recipes_id_seq", sequenceName = "recipes_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -66,6 +86,14 @@ public class Recipe {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Not second-level cached: read by the ingredient endpoints only, and the in-memory
+    // IngredientIndex answers the ingredient queries
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "recipe_ingredients",
+            joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"))
+    private Set<Ingredient> ingredients = new HashSet<>();
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private OffsetDateTime createdAt;
@@ -74,6 +102,14 @@ public class Recipe {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Facet values as last loaded or written, so the entity listener can tell what an update changed
+    @Transient
+    private RecipeFacetsChangedEvent.Facets persistedFacets;
+
     public Recipe() {
     }
 
@@ -152,6 +188,16 @@ public class Recipe {
         this.user = Objects.requireNonNull(user, "User cannot be null");
     }
 
+    public Set<Ingredient> getIngredients() {
+        return ingredients;
+    }
+
+    // Changes the collection in place so Hibernate only writes the link rows that differ
+    public void replaceIngredients(Collection<Ingredient> replacement) {
+        ingredients.retainAll(replacement);
+        ingredients.addAll(replacement);
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -168,6 +214,18 @@ public class Recipe {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public RecipeFacetsChangedEvent.Facets getPersistedFacets() {
+        return persistedFacets;
+    }
+
+    public void setPersistedFacets(RecipeFacetsChangedEvent.Facets persistedFacets) {
+        this.persistedFacets = persistedFacets;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,108 @@
+package com.oprykhodko.recipeplatformbackend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// Read model of recipe_feed. The rows are maintained by database triggers on recipes and users
+// (see V5__add_recipe_feed.sql), so the application never writes this table.
+@Entity
+@Immutable
+@Table(name = "recipe_feed")
+public class RecipeFeedEntry {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(name = "title", nullable = false, length = 200)
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "difficulty", nullable = false, length = 20)
+    private Difficulty difficulty;
+
+    @Column(name = "total_time_minutes")
+    private Integer totalTimeMinutes;
+
+    @Column(name = "servings")
+    private Integer servings;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "author_username", nullable = false, length = 50)
+    private String authorUsername;
+
+    @Column(name = "author_display_name", length = 100)
+    private String authorDisplayName;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    protected RecipeFeedEntry() {
+    }
+
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public Integer getTotalTimeMinutes() {
+        return totalTimeMinutes;
+    }
+
+    public Integer getServings() {
+        return servings;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public String getAuthorUsername() {
+        return authorUsername;
+    }
+
+    public String getAuthorDisplayName() {
+        return authorDisplayName;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecipeFeedEntry entry)) return false;
+        return Objects.equals(recipeId, entry.recipeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(recipeId);
+    }
+
+    @Override
+    public String toString() {
+        return "RecipeFeedEntry{recipeId=" + recipeId +
+                ", title='" + title + '\'' +
+                ", authorUsername='" + authorUsername + '\'' +
+                "}";
+    }
+}
@@ -1,19 +1,29 @@
 package com.oprykhodko.recipeplatformbackend.entity;
 
 
+import com.oprykhodko.recipeplatformbackend.event.UserEntityListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.OffsetDateTime;
@@ -22,12 +32,17 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@EntityListeners(UserEntityListener.class)
 @Table(name = "users")
 public class User {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -58,7 +73,15 @@ public class User {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.recipes")
+    // Adding or removing a recipe must not bump the user's version, or concurrent recipe writes would conflict
+    @OptimisticLock(excluded = true)
     private List<Recipe> recipes = new ArrayList<>();
 
     public User(String username, String email, String passwordHash, String displayName) {
@@ -127,6 +150,10 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<Recipe> getRecipes() {
         return recipes == null ? new ArrayList<>() : new ArrayList<>(recipes);
     }
@@ -143,9 +170,9 @@ public class User {
     }
 
     public void removeRecipe(Recipe recipe) {
-        if (!recipes.isEmpty() && recipe != null) {
+        if (recipes != null && recipe != null) {
+            // Recipe.user is mandatory, so the back-reference stays; orphanRemoval deletes the recipe on flush
             recipes.remove(recipe);
-            recipe.setUser(null);
         }
     }
 
@@ -0,0 +1,8 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+public record RecipeChangedEvent(Long recipeId, Long authorId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
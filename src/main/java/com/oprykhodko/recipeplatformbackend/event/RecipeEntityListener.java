@@ -0,0 +1,60 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Instantiated by Hibernate through Spring's bean container, so the publisher is injected.
+// Events fire at flush time; consumers should use @TransactionalEventListener to act after commit.
+public class RecipeEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecipeEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Also fires for entities assembled from the second-level cache
+    @PostLoad
+    void onLoad(Recipe recipe) {
+        recipe.setPersistedFacets(RecipeFacetsChangedEvent.Facets.of(recipe));
+    }
+
+    @PostPersist
+    void onPersist(Recipe recipe) {
+        publish(recipe, RecipeChangedEvent.ChangeType.CREATED);
+        RecipeFacetsChangedEvent.Facets facets = RecipeFacetsChangedEvent.Facets.of(recipe);
+        eventPublisher.publishEvent(new RecipeFacetsChangedEvent(recipe.getId(), null, facets));
+        recipe.setPersistedFacets(facets);
+    }
+
+    // A managed recipe always went through onLoad or onPersist; if it somehow did not, the facet
+    // counters are left to their periodic reconciliation
+    @PostUpdate
+    void onUpdate(Recipe recipe) {
+        publish(recipe, RecipeChangedEvent.ChangeType.UPDATED);
+        RecipeFacetsChangedEvent.Facets before = recipe.getPersistedFacets();
+        RecipeFacetsChangedEvent.Facets after = RecipeFacetsChangedEvent.Facets.of(recipe);
+        if (before != null && !before.equals(after)) {
+            eventPublisher.publishEvent(new RecipeFacetsChangedEvent(recipe.getId(), before, after));
+        }
+        recipe.setPersistedFacets(after);
+    }
+
+    @PostRemove
+    void onRemove(Recipe recipe) {
+        publish(recipe, RecipeChangedEvent.ChangeType.DELETED);
+        RecipeFacetsChangedEvent.Facets before = recipe.getPersistedFacets() != null
+                ? recipe.getPersistedFacets()
+                : RecipeFacetsChangedEvent.Facets.of(recipe);
+        eventPublisher.publishEvent(new RecipeFacetsChangedEvent(recipe.getId(), before, null));
+    }
+
+    private void publish(Recipe recipe, RecipeChangedEvent.ChangeType type) {
+        Long authorId = recipe.getUser() == null ? null : recipe.getUser().getId();
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId(), authorId, type));
+    }
+}
@@ -0,0 +1,20 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+
+// A recipe's browse facet values before and after a write; before is null for a new recipe, after for a deleted one
+public record RecipeFacetsChangedEvent(Long recipeId, Facets before, Facets after) {
+
+    // Total time is null when either time is missing, as in recipe_feed.total_time_minutes
+    public record Facets(Long authorId, Difficulty difficulty, Integer totalTimeMinutes, Integer servings) {
+
+        public static Facets of(Recipe recipe) {
+            Long authorId = recipe.getUser() == null ? null : recipe.getUser().getId();
+            Integer totalTimeMinutes = recipe.getPrepTimeMinutes() == null || recipe.getCookTimeMinutes() == null
+                    ? null
+                    : recipe.getPrepTimeMinutes() + recipe.getCookTimeMinutes();
+            return new Facets(authorId, recipe.getDifficulty(), totalTimeMinutes, recipe.getServings());
+        }
+    }
+}
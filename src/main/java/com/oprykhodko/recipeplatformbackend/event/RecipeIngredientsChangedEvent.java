@@ -0,0 +1,7 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+import java.util.Map;
+
+// The complete ingredient set of a recipe after a change, keyed by normalised name
+public record RecipeIngredientsChangedEvent(Long recipeId, Map<String, Long> ingredientIdsByName) {
+}
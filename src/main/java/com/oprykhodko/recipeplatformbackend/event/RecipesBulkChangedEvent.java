@@ -0,0 +1,5 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+// Published by SQL-level bulk writes that bypass the entity listeners, e.g. the COPY loader.
+public record RecipesBulkChangedEvent(long rowsAffected) {
+}
@@ -0,0 +1,4 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,21 @@
+package com.oprykhodko.recipeplatformbackend.event;
+
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.oprykhodko.recipeplatformbackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String operation, int attempts, Throwable cause) {
+        super(operation + " kept conflicting with concurrent updates after " + attempts + " attempts", cause);
+    }
+}
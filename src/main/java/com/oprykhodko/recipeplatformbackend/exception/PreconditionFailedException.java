@@ -0,0 +1,12 @@
+package com.oprykhodko.recipeplatformbackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String resource, Object id) {
+        super(resource + " " + id + " was modified since the version given in If-Match");
+    }
+}
@@ -0,0 +1,26 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+// /actuator/queries: sampled recent statements and the slowest ones seen since the last clear
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+
+    private final QueryTracer tracer;
+
+    public QueriesEndpoint(QueryTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public QueryTracer.Report queries() {
+        return tracer.report();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        tracer.clear();
+    }
+}
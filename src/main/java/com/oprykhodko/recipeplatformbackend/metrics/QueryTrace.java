@@ -0,0 +1,13 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import java.time.Instant;
+
+// rows is -1 when the driver does not report it (e.g. execute() returning a result set that was not read)
+public record QueryTrace(Instant executedAt,
+                         String shape,
+                         int binds,
+                         int batchSize,
+                         long durationMicros,
+                         long rows,
+                         String thread) {
+}
@@ -0,0 +1,139 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import com.oprykhodko.recipeplatformbackend.config.QueryTracingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Keeps a sample of recent statements and every slow one in two fixed-size ring buffers. Writers claim a
+// slot with a single getAndIncrement and overwrite the oldest entry, so recording never blocks.
+public class QueryTracer {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryTracer.class);
+
+    private static final int MAX_SHAPE_LENGTH = 2000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int slowestLimit;
+    private final Ring recent;
+    private final Ring slow;
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+
+    public QueryTracer(QueryTracingProperties properties) {
+        this.sampleRate = properties.sampleRate();
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.slowestLimit = properties.slowestLimit();
+        this.recent = new Ring(properties.bufferSize());
+        this.slow = new Ring(properties.bufferSize());
+    }
+
+    public record Report(long executed, long slow, List<QueryTrace> recent, List<QueryTrace> slowest) {
+    }
+
+    boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    boolean isSlow(long durationNanos) {
+        return durationNanos >= slowThresholdNanos;
+    }
+
+    void record(String sql, int binds, int batchSize, long durationNanos, long rows, boolean sampled) {
+        executed.increment();
+        boolean isSlow = isSlow(durationNanos);
+        if (!sampled && !isSlow) {
+            return;
+        }
+        QueryTrace trace = new QueryTrace(Instant.now(), shape(sql), binds, batchSize, durationNanos / 1000, rows,
+                Thread.currentThread().getName());
+        if (sampled) {
+            recent.add(trace);
+        }
+        if (isSlow) {
+            slowCount.increment();
+            slow.add(trace);
+            log.warn("Slow query ({} ms, {} rows, {} binds, batch {}): {}",
+                    durationNanos / 1_000_000, rows, binds, batchSize, trace.shape());
+        }
+    }
+
+    public Report report() {
+        List<QueryTrace> recentTraces = recent.snapshot();
+        recentTraces.sort(Comparator.comparing(QueryTrace::executedAt).reversed());
+
+        List<QueryTrace> slowest = slow.snapshot();
+        slowest.addAll(recentTraces);
+        slowest = slowest.stream()
+                .distinct()
+                .sorted(Comparator.comparingLong(QueryTrace::durationMicros).reversed())
+                .limit(slowestLimit)
+                .toList();
+        return new Report(executed.sum(), slowCount.sum(), recentTraces, slowest);
+    }
+
+    public void clear() {
+        recent.clear();
+        slow.clear();
+    }
+
+    // Literals and IN lists are collapsed so that statements differing only in values share a shape
+    static String shape(String sql) {
+        if (sql == null) {
+            return "<unknown>";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    private static final class Ring {
+
+        private final AtomicReferenceArray<QueryTrace> slots;
+        private final int mask;
+        private final AtomicLong sequence = new AtomicLong();
+
+        Ring(int requestedSize) {
+            int size = Integer.highestOneBit(Math.max(2, requestedSize - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.mask = size - 1;
+        }
+
+        void add(QueryTrace trace) {
+            slots.lazySet((int) (sequence.getAndIncrement() & mask), trace);
+        }
+
+        List<QueryTrace> snapshot() {
+            List<QueryTrace> traces = new ArrayList<>(slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                QueryTrace trace = slots.get(i);
+                if (trace != null) {
+                    traces.add(trace);
+                }
+            }
+            return traces;
+        }
+
+        void clear() {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, null);
+            }
+        }
+    }
+}
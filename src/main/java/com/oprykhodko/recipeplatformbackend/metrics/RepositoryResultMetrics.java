@@ -0,0 +1,93 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+// Adds a rows-returned summary to every Spring Data repository method. Latency is already timed by
+// Boot's spring.data.repository.invocations metric, which sees invocations but not their results.
+public class RepositoryResultMetrics implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryResultMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new RowCountingInterceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private final class RowCountingInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        // Registered on a method's first invocation, then only looked up
+        private final ConcurrentHashMap<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        private RowCountingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return result;
+            }
+            long rows = rows(result);
+            if (rows >= 0) {
+                summaries.computeIfAbsent(invocation.getMethod(), this::register).record(rows);
+            }
+            return result;
+        }
+
+        private DistributionSummary register(Method method) {
+            return DistributionSummary.builder("spring.data.repository.rows")
+                    .description("Rows returned by a repository method")
+                    .tags("repository", repository, "method", method.getName())
+                    .register(meterRegistry.getObject());
+        }
+    }
+
+    // -1 for results that are not rows (counts, flags, void, streams consumed later)
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable<?>
+                || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
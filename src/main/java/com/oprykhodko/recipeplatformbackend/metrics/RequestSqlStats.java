@@ -0,0 +1,46 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+// SQL statements executed through the DataSource, and entities loaded by Hibernate, on the current request thread.
+// Opened and closed by SqlStatementBudgetFilter; outside a request the counters are ignored.
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+
+    private RequestSqlStats() {
+    }
+
+    static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementExecuted() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
@@ -0,0 +1,15 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+// Registered as the session-factory-wide interceptor, so it must stay stateless. Statements are counted
+// by TracingDataSource instead, which also sees the ones run through JdbcTemplate.
+public class RequestStatsHibernateInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestSqlStats.entityLoaded();
+        return false;
+    }
+}
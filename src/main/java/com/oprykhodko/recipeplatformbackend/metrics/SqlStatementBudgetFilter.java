@@ -0,0 +1,90 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import com.oprykhodko.recipeplatformbackend.config.MetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// N+1 detector: counts the SQL statements and entity loads of each request and flags requests
+// that exceed recipes.metrics.sql-statements-per-request-threshold.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+    // One set of meters per route, registered on its first request; routes are bounded by the handler mappings
+    private final ConcurrentHashMap<Route, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry, MetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = properties.sqlStatementsPerRequestThreshold();
+    }
+
+    private record Route(String method, String uri) {
+    }
+
+    private record RouteMeters(DistributionSummary statements, DistributionSummary entitiesLoaded, Counter excessive) {
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        RouteMeters routeMeters = meters.computeIfAbsent(new Route(request.getMethod(), uri), this::register);
+
+        routeMeters.statements().record(stats.statements());
+        routeMeters.entitiesLoaded().record(stats.entitiesLoaded());
+
+        if (stats.statements() > threshold) {
+            routeMeters.excessive().increment();
+            log.warn("Possible N+1: {} {} issued {} SQL statements and loaded {} entities (threshold {})",
+                    request.getMethod(), uri, stats.statements(), stats.entitiesLoaded(), threshold);
+        }
+    }
+
+    private RouteMeters register(Route route) {
+        Tags tags = Tags.of("method", route.method(), "uri", route.uri());
+        return new RouteMeters(
+                DistributionSummary.builder("http.server.requests.sql.statements")
+                        .description("SQL statements executed through the DataSource per request")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder("http.server.requests.entities.loaded")
+                        .description("Entities hydrated by Hibernate per request")
+                        .tags(tags)
+                        .register(meterRegistry),
+                Counter.builder("http.server.requests.sql.excessive")
+                        .description("Requests that issued more SQL statements than the configured threshold")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,223 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Counts every statement executed through the pool for RequestSqlStats, whichever API issued it, and, when
+// query tracing is enabled, times it and reports it to the QueryTracer. Result sets are only
+// wrapped (to count rows) when the statement was sampled or slow, the ones whose trace is kept, so other
+// queries pay for two nanoTime calls and the statement proxy. Unwrap calls reach the real connection, so
+// COPY keeps working.
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final QueryTracer tracer;
+
+    // tracer is null when query tracing is disabled
+    public TracingDataSource(DataSource targetDataSource, QueryTracer tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    // Proxies compare by identity; delegating equals would make a proxy unequal to itself
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "Traced " + target;
+        };
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final boolean sampled;
+        private String sql;
+        private int binds;
+        private int batchSize;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+            this.sampled = tracer != null && tracer.sample();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args, name);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds = Math.max(binds, index);
+            } else if (name.equals("addBatch")) {
+                if (args != null && args.length == 1 && args[0] instanceof String batchSql) {
+                    sql = batchSql;
+                }
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args, String name) throws Throwable {
+            RequestSqlStats.statementExecuted();
+            if (tracer == null) {
+                return invokeTarget(target, method, args);
+            }
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            Object result = invokeTarget(target, method, args);
+            long duration = System.nanoTime() - start;
+
+            switch (name) {
+                case "executeQuery" -> {
+                    if (sampled || tracer.isSlow(duration)) {
+                        return proxy(ResultSet.class,
+                                new ResultSetHandler((ResultSet) result, executedSql, binds, duration, sampled));
+                    }
+                    tracer.record(executedSql, binds, 0, duration, -1, false);
+                }
+                case "executeUpdate", "executeLargeUpdate" ->
+                        tracer.record(executedSql, binds, 0, duration, ((Number) result).longValue(), sampled);
+                case "executeBatch" -> {
+                    tracer.record(executedSql, binds, batchSize, duration, sum((int[]) result), sampled);
+                    batchSize = 0;
+                }
+                case "executeLargeBatch" -> {
+                    tracer.record(executedSql, binds, batchSize, duration, sum((long[]) result), sampled);
+                    batchSize = 0;
+                }
+                default -> {
+                    int updateCount = Boolean.FALSE.equals(result) ? target.getUpdateCount() : -1;
+                    tracer.record(executedSql, binds, 0, duration, updateCount, sampled);
+                }
+            }
+            return result;
+        }
+
+        private static long sum(int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+
+        private static long sum(long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+    }
+
+    // Reports the statement once the rows have been read, i.e. when next() returns false or on close
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String sql;
+        private final int binds;
+        private final long durationNanos;
+        private final boolean sampled;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet target, String sql, int binds, long durationNanos, boolean sampled) {
+            this.target = target;
+            this.sql = sql;
+            this.binds = binds;
+            this.durationNanos = durationNanos;
+            this.sampled = sampled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            String name = method.getName();
+            if (name.equals("close")) {
+                report();
+            }
+            Object result = invokeTarget(target, method, args);
+            if (name.equals("next")) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    report();
+                }
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                tracer.record(sql, binds, 0, durationNanos, rows, sampled);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.entity.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+
+    // Idempotent and safe against concurrent writers adding the same name; callers pass sorted names so
+    // two transactions inserting overlapping sets wait on each other in the same order
+    @Modifying
+    @Query(value = """
+            INSERT INTO ingredients (name)
+            SELECT unnest(cast(:names AS varchar[]))
+            ON CONFLICT (name) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing(@Param("names") String[] names);
+
+    List<Ingredient> findByNameIn(Collection<String> names);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT i.name FROM Recipe r JOIN r.ingredients i WHERE r.id = :recipeId ORDER BY i.name")
+    List<String> findNamesByRecipeId(@Param("recipeId") Long recipeId);
+}
@@ -0,0 +1,152 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpsertResult;
+import com.oprykhodko.recipeplatformbackend.dto.UpsertStatus;
+import com.oprykhodko.recipeplatformbackend.event.RecipesBulkChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Upserts recipes keyed by their unique title with multi-row INSERT ... ON CONFLICT (title) DO UPDATE
+// statements. The update only fires when the row belongs to the same user and its content hash differs
+// (see V6__add_recipe_content_hash.sql), so a re-sent catalogue causes no writes, no updated_at churn
+// and no WAL for the rows that did not change.
+@Repository
+public class RecipeBatchUpserter {
+
+    // Seven bind parameters per row keeps a full statement well below the 32767 parameter limit
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String VALUES_ROW = "(%d, ?::varchar, ?::text, ?::integer, ?::integer, ?::integer, ?::varchar)";
+
+    // Rows are inserted in title order so concurrent batches lock conflicting titles in the same order.
+    // The outer join against recipes reads the statement snapshot, i.e. the rows as they were before the upsert.
+    private static final String UPSERT_TEMPLATE = """
+            WITH input (ord, title, description, prep_time_minutes, cook_time_minutes, servings, difficulty) AS (
+                VALUES %s
+            ),
+            upserted AS (
+                INSERT INTO recipes (title, description, prep_time_minutes, cook_time_minutes, servings, difficulty, user_id)
+                SELECT title, description, prep_time_minutes, cook_time_minutes, servings, difficulty, ?
+                FROM input
+                ORDER BY title
+                ON CONFLICT (title) DO UPDATE SET
+                    description = EXCLUDED.description,
+                    prep_time_minutes = EXCLUDED.prep_time_minutes,
+                    cook_time_minutes = EXCLUDED.cook_time_minutes,
+                    servings = EXCLUDED.servings,
+                    difficulty = EXCLUDED.difficulty,
+                    updated_at = CURRENT_TIMESTAMP,
+                    version = recipes.version + 1
+                WHERE recipes.user_id = EXCLUDED.user_id
+                  AND recipes.content_hash IS DISTINCT FROM recipe_content_hash(
+                        EXCLUDED.description, EXCLUDED.prep_time_minutes, EXCLUDED.cook_time_minutes,
+                        EXCLUDED.servings, EXCLUDED.difficulty)
+                RETURNING id, title, (xmax = 0) AS inserted
+            )
+            SELECT i.ord, u.id AS upserted_id, u.inserted, r.id AS existing_id, r.user_id AS existing_user_id
+            FROM input i
+                     LEFT JOIN upserted u ON u.title = i.title
+                     LEFT JOIN recipes r ON r.title = i.title
+            ORDER BY i.ord
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecipeBatchUpserter(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Returns one result per input row, in input order. When a title repeats, the last occurrence wins.
+    @Transactional
+    public List<RecipeUpsertResult> upsert(Long userId, List<RecipeImportRow> rows) {
+        RecipeUpsertResult[] results = new RecipeUpsertResult[rows.size()];
+        Map<String, Integer> lastIndexByTitle = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Integer previous = lastIndexByTitle.put(rows.get(i).title(), i);
+            if (previous != null) {
+                results[previous] = RecipeUpsertResult.of(rows.get(previous).title(), null, UpsertStatus.DUPLICATE);
+            }
+        }
+
+        List<Integer> pending = new ArrayList<>(lastIndexByTitle.values());
+        pending.sort(null);
+        long changed = 0;
+        for (int from = 0; from < pending.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Integer> batch = pending.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, pending.size()));
+            changed += upsertBatch(userId, rows, batch, results);
+        }
+
+        if (changed > 0) {
+            // The upsert bypasses the entity listeners, so tell in-memory views that recipes changed in bulk
+            eventPublisher.publishEvent(new RecipesBulkChangedEvent(changed));
+        }
+        return Arrays.asList(results);
+    }
+
+    private long upsertBatch(Long userId, List<RecipeImportRow> rows, List<Integer> batch, RecipeUpsertResult[] results) {
+        StringBuilder values = new StringBuilder(batch.size() * 80);
+        for (int ord = 0; ord < batch.size(); ord++) {
+            if (ord > 0) {
+                values.append(",\n        ");
+            }
+            values.append(VALUES_ROW.formatted(ord));
+        }
+        String sql = UPSERT_TEMPLATE.formatted(values);
+
+        return jdbcTemplate.execute(sql, (PreparedStatement statement) -> {
+            int parameter = 1;
+            for (int index : batch) {
+                RecipeImportRow row = rows.get(index);
+                statement.setString(parameter++, row.title());
+                statement.setString(parameter++, row.description());
+                statement.setObject(parameter++, row.prepTimeMinutes(), Types.INTEGER);
+                statement.setObject(parameter++, row.cookTimeMinutes(), Types.INTEGER);
+                statement.setObject(parameter++, row.servings(), Types.INTEGER);
+                statement.setString(parameter++, row.difficulty().name());
+            }
+            statement.setLong(parameter, userId);
+
+            long changed = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    int index = batch.get(resultSet.getInt("ord"));
+                    RecipeUpsertResult result = toResult(rows.get(index).title(), userId, resultSet);
+                    if (result.status() == UpsertStatus.CREATED || result.status() == UpsertStatus.UPDATED) {
+                        changed++;
+                    }
+                    results[index] = result;
+                }
+            }
+            return changed;
+        });
+    }
+
+    private static RecipeUpsertResult toResult(String title, Long userId, ResultSet resultSet) throws SQLException {
+        long upsertedId = resultSet.getLong("upserted_id");
+        if (!resultSet.wasNull()) {
+            UpsertStatus status = resultSet.getBoolean("inserted") ? UpsertStatus.CREATED : UpsertStatus.UPDATED;
+            return RecipeUpsertResult.of(title, upsertedId, status);
+        }
+        long existingUserId = resultSet.getLong("existing_user_id");
+        if (!resultSet.wasNull() && existingUserId == userId) {
+            return RecipeUpsertResult.of(title, resultSet.getLong("existing_id"), UpsertStatus.UNCHANGED);
+        }
+        // Owned by someone else, or inserted by a concurrent transaction after this statement's snapshot
+        return new RecipeUpsertResult(title, null, UpsertStatus.CONFLICT, "Title is already used by another recipe");
+    }
+}
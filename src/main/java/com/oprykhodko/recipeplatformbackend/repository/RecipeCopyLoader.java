@@ -0,0 +1,167 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+import com.oprykhodko.recipeplatformbackend.event.RecipesBulkChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Bulk path for recipe ingestion: rows are streamed with COPY into a session-local staging table
+// and merged into recipes with a single INSERT ... ON CONFLICT (title) statement.
+@Repository
+public class RecipeCopyLoader {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE recipes_staging (
+                line_no BIGINT NOT NULL,
+                title VARCHAR(200),
+                description TEXT,
+                prep_time_minutes INTEGER,
+                cook_time_minutes INTEGER,
+                servings INTEGER,
+                difficulty VARCHAR(20)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_INTO_STAGING = """
+            COPY recipes_staging (line_no, title, description, prep_time_minutes, cook_time_minutes, servings, difficulty)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    // The last occurrence of a title in the file wins; titles owned by another user are left untouched.
+    private static final String MERGE_STAGING = """
+            WITH upserted AS (
+                INSERT INTO recipes (title, description, prep_time_minutes, cook_time_minutes, servings, difficulty, user_id)
+                SELECT DISTINCT ON (title) title, description, prep_time_minutes, cook_time_minutes, servings, difficulty, ?
+                FROM recipes_staging
+                ORDER BY title, line_no DESC
+                ON CONFLICT (title) DO UPDATE SET
+                    description = EXCLUDED.description,
+                    prep_time_minutes = EXCLUDED.prep_time_minutes,
+                    cook_time_minutes = EXCLUDED.cook_time_minutes,
+                    servings = EXCLUDED.servings,
+                    difficulty = EXCLUDED.difficulty,
+                    updated_at = CURRENT_TIMESTAMP,
+                    version = recipes.version + 1
+                WHERE recipes.user_id = EXCLUDED.user_id
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT count(*) FILTER (WHERE inserted) AS inserted,
+                   count(*) FILTER (WHERE NOT inserted) AS updated
+            FROM upserted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecipeCopyLoader(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @FunctionalInterface
+    public interface RowSource {
+
+        // Returns the next row to load, or null when there are no more rows.
+        RecipeImportRow next() throws IOException;
+    }
+
+    public record Result(long rowsCopied, long inserted, long updated) {
+
+        public long skipped() {
+            return rowsCopied - inserted - updated;
+        }
+    }
+
+    @Transactional
+    public Result load(Long userId, RowSource rows) {
+        Result result = jdbcTemplate.execute((ConnectionCallback<Result>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            long copied = copyRows(connection, rows);
+            try (PreparedStatement merge = connection.prepareStatement(MERGE_STAGING)) {
+                merge.setLong(1, userId);
+                try (ResultSet counts = merge.executeQuery()) {
+                    counts.next();
+                    return new Result(copied, counts.getLong("inserted"), counts.getLong("updated"));
+                }
+            }
+        });
+        // The merge bypasses the entity listeners, so tell in-memory views that recipes changed in bulk
+        eventPublisher.publishEvent(new RecipesBulkChangedEvent(result.inserted() + result.updated()));
+        return result;
+    }
+
+    private long copyRows(Connection connection, RowSource rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 4096);
+            long lineNo = 0;
+            RecipeImportRow row;
+            while ((row = rows.next()) != null) {
+                appendCsvLine(buffer, ++lineNo, row);
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    writeToCopy(copyIn, buffer);
+                }
+            }
+            writeToCopy(copyIn, buffer);
+            return copyIn.endCopy();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read rows for COPY", e);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendCsvLine(StringBuilder buffer, long lineNo, RecipeImportRow row) {
+        buffer.append(lineNo).append(',');
+        appendQuoted(buffer, row.title());
+        buffer.append(',');
+        appendQuoted(buffer, row.description());
+        buffer.append(',')
+                .append(row.prepTimeMinutes()).append(',')
+                .append(row.cookTimeMinutes()).append(',')
+                .append(row.servings()).append(',')
+                .append(row.difficulty().name())
+                .append('\n');
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+}
@@ -0,0 +1,44 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.config.RecipeExportProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// Walks the whole catalogue with a forward-only, read-only cursor. Inside a transaction the PostgreSQL
+// driver fetches fetchSize rows per round trip instead of materializing the full result, and rows are
+// handed to the callback straight from the ResultSet without entities or a persistence context.
+@Repository
+public class RecipeExportRepository {
+
+    private static final String SELECT_CATALOGUE = """
+            SELECT r.id, r.title, r.description, r.prep_time_minutes, r.cook_time_minutes, r.servings,
+                   r.difficulty, u.id AS author_id, u.username AS author_username, r.created_at, r.updated_at
+            FROM recipes r
+                     JOIN users u ON u.id = r.user_id
+            ORDER BY r.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecipeExportProperties properties;
+
+    public RecipeExportRepository(JdbcTemplate jdbcTemplate, RecipeExportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    // The transaction keeps the cursor open (the driver only streams with auto-commit off)
+    @Transactional(readOnly = true)
+    public void forEachRecipe(RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_CATALOGUE,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.fetchSize());
+            return statement;
+        }, handler);
+    }
+}
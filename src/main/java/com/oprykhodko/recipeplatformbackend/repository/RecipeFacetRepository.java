@@ -0,0 +1,56 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.AuthorRecipeTotals;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFacetGroup;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+// Recomputes the browse facet counts from scratch. Groups by the raw values rather than by buckets,
+// so the bucket bounds are only defined once, in TotalTimeBucket and ServingsRange.
+@Repository
+public class RecipeFacetRepository {
+
+    private static final String SELECT_FACET_GROUPS = """
+            SELECT difficulty,
+                   prep_time_minutes + cook_time_minutes AS total_time_minutes,
+                   servings,
+                   count(*) AS recipes
+            FROM recipes
+            GROUP BY 1, 2, 3
+            """;
+
+    private static final String SELECT_AUTHOR_TOTALS = """
+            SELECT user_id,
+                   count(*) AS recipes,
+                   coalesce(sum(prep_time_minutes + cook_time_minutes), 0) AS total_time_minutes
+            FROM recipes
+            GROUP BY user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeFacetRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Both aggregates come from one snapshot. Not read-only on purpose: the counters are reconciled
+    // against the primary, which every write they were incremented for has already reached.
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void forEachGroup(Consumer<RecipeFacetGroup> facetGroups, Consumer<AuthorRecipeTotals> authorTotals) {
+        jdbcTemplate.query(SELECT_FACET_GROUPS, (RowCallbackHandler) resultSet -> facetGroups.accept(new RecipeFacetGroup(
+                Difficulty.valueOf(resultSet.getString("difficulty")),
+                resultSet.getObject("total_time_minutes", Integer.class),
+                resultSet.getObject("servings", Integer.class),
+                resultSet.getLong("recipes"))));
+        jdbcTemplate.query(SELECT_AUTHOR_TOTALS, (RowCallbackHandler) resultSet -> authorTotals.accept(new AuthorRecipeTotals(
+                resultSet.getLong("user_id"),
+                resultSet.getLong("recipes"),
+                resultSet.getLong("total_time_minutes"))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.config.SimilarRecipesProperties;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFeatureRow;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reads the columns the similar-recipes vectors are built from, without entities or a persistence context
+@Repository
+public class RecipeFeatureRepository {
+
+    private static final String SELECT_FEATURES = """
+            SELECT id, title, description, difficulty,
+                   coalesce(prep_time_minutes, 0) + coalesce(cook_time_minutes, 0) AS total_time_minutes
+            FROM recipes
+            """;
+
+    private static final RowMapper<RecipeFeatureRow> ROW_MAPPER = (resultSet, rowNum) -> new RecipeFeatureRow(
+            resultSet.getLong("id"),
+            resultSet.getString("title"),
+            resultSet.getString("description"),
+            Difficulty.valueOf(resultSet.getString("difficulty")),
+            resultSet.getInt("total_time_minutes"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimilarRecipesProperties properties;
+
+    public RecipeFeatureRepository(JdbcTemplate jdbcTemplate, SimilarRecipesProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    // Streams the whole catalogue through a cursor; a read-only transaction, so it may run on a replica
+    @Transactional(readOnly = true)
+    public void forEachRecipe(Consumer<RecipeFeatureRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_FEATURES + "ORDER BY id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.fetchSize());
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(ROW_MAPPER.mapRow(resultSet, 0)));
+    }
+
+    // Not read-only on purpose: runs right after the writes it follows up on, so it reads the primary
+    @Transactional
+    public List<RecipeFeatureRow> findByIds(Collection<Long> ids) {
+        Long[] idArray = ids.toArray(Long[]::new);
+        return jdbcTemplate.query((Connection connection) -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_FEATURES + "WHERE id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("bigint", idArray));
+            return statement;
+        }, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,15 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.ServingsRange;
+import com.oprykhodko.recipeplatformbackend.dto.TotalTimeBucket;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.util.List;
+
+public interface RecipeFeedBrowseRepository {
+
+    List<FeedItem> findFiltered(Difficulty difficulty, TotalTimeBucket timeBucket, ServingsRange servingsRange,
+                                RecipeCursor after, int limit);
+}
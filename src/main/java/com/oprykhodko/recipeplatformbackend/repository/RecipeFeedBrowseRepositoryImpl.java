@@ -0,0 +1,76 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.ServingsRange;
+import com.oprykhodko.recipeplatformbackend.dto.TotalTimeBucket;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Browse listing: the feed narrowed by facet values. Only the selected facets become predicates, on the bare
+// columns, so the planner walks the (created_at, recipe_id) index newest first and filters as it goes.
+// The UNKNOWN buckets are the only ones that match NULL.
+class RecipeFeedBrowseRepositoryImpl implements RecipeFeedBrowseRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FeedItem> findFiltered(Difficulty difficulty, TotalTimeBucket timeBucket, ServingsRange servingsRange,
+                                       RecipeCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        if (difficulty != null) {
+            predicates.add("f.difficulty = :difficulty");
+        }
+        if (timeBucket != null) {
+            predicates.add(range("f.totalTimeMinutes", "minTotalTime", "maxTotalTime",
+                    timeBucket == TotalTimeBucket.UNKNOWN));
+        }
+        if (servingsRange != null) {
+            predicates.add(range("f.servings", "minServings", "maxServings",
+                    servingsRange == ServingsRange.UNKNOWN));
+        }
+        if (after != null) {
+            predicates.add("(f.createdAt, f.recipeId) < (:createdAt, :id)");
+        }
+        String jpql = """
+                SELECT new com.oprykhodko.recipeplatformbackend.dto.FeedItem(
+                    f.recipeId, f.title, f.difficulty, f.totalTimeMinutes, f.servings,
+                    f.authorId, f.authorUsername, f.authorDisplayName, f.createdAt)
+                FROM RecipeFeedEntry f
+                %s
+                ORDER BY f.createdAt DESC, f.recipeId DESC
+                """.formatted(predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates));
+
+        TypedQuery<FeedItem> query = entityManager.createQuery(jpql, FeedItem.class)
+                .setMaxResults(limit);
+        if (difficulty != null) {
+            query.setParameter("difficulty", difficulty);
+        }
+        if (timeBucket != null) {
+            query.setParameter("minTotalTime", timeBucket.minMinutes());
+            query.setParameter("maxTotalTime", timeBucket.maxMinutes());
+        }
+        if (servingsRange != null) {
+            query.setParameter("minServings", servingsRange.minServings());
+            query.setParameter("maxServings", servingsRange.maxServings());
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt());
+            query.setParameter("id", after.id());
+        }
+        return query.getResultList();
+    }
+
+    private static String range(String column, String min, String max, boolean includeNull) {
+        String between = "%s BETWEEN :%s AND :%s".formatted(column, min, max);
+        return includeNull ? "(%s IS NULL OR %s)".formatted(column, between) : between;
+    }
+}
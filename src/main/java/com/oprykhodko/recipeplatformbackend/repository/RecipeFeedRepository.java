@@ -0,0 +1,46 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.entity.RecipeFeedEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Serves the home feed from the trigger-maintained recipe_feed table: a single-table index range scan
+// on (created_at, recipe_id) instead of re-joining recipes to users on every request.
+@Repository
+public interface RecipeFeedRepository extends org.springframework.data.repository.Repository<RecipeFeedEntry, Long>,
+        RecipeFeedBrowseRepository {
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.oprykhodko.recipeplatformbackend.dto.FeedItem(
+                f.recipeId, f.title, f.difficulty, f.totalTimeMinutes, f.servings,
+                f.authorId, f.authorUsername, f.authorDisplayName, f.createdAt)
+            FROM RecipeFeedEntry f
+            ORDER BY f.createdAt DESC, f.recipeId DESC
+            """)
+    List<FeedItem> findFirstPage(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.oprykhodko.recipeplatformbackend.dto.FeedItem(
+                f.recipeId, f.title, f.difficulty, f.totalTimeMinutes, f.servings,
+                f.authorId, f.authorUsername, f.authorDisplayName, f.createdAt)
+            FROM RecipeFeedEntry f
+            WHERE (f.createdAt, f.recipeId) < (:createdAt, :id)
+            ORDER BY f.createdAt DESC, f.recipeId DESC
+            """)
+    List<FeedItem> findAfter(@Param("createdAt") OffsetDateTime createdAt,
+                             @Param("id") Long id,
+                             Pageable pageable);
+
+    @Transactional(readOnly = true)
+    List<RecipeFeedEntry> findByRecipeIdIn(Collection<Long> recipeIds);
+}
@@ -0,0 +1,94 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.PopularRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Applies aggregated view deltas with one statement per flush and reads the per-difficulty ranking.
+// Scores decay exponentially with the configured half-life: a stored score is decayed to the flush time
+// before the new views are added, and to the current time when the ranking is computed.
+@Repository
+public class RecipePopularityRepository {
+
+    // Deltas arrive as two parallel arrays; views of recipes deleted in the meantime are dropped by the join
+    private static final String APPLY_DELTAS = """
+            INSERT INTO recipe_popularity AS p (recipe_id, view_count, score, score_updated_at)
+            SELECT d.recipe_id, d.views, d.views, CURRENT_TIMESTAMP
+            FROM unnest(?::bigint[], ?::bigint[]) AS d (recipe_id, views)
+                     JOIN recipes r ON r.id = d.recipe_id
+            ORDER BY d.recipe_id
+            ON CONFLICT (recipe_id) DO UPDATE SET
+                view_count = p.view_count + EXCLUDED.view_count,
+                score = p.score * exp(? * extract(EPOCH FROM EXCLUDED.score_updated_at - p.score_updated_at))
+                        + EXCLUDED.score,
+                score_updated_at = EXCLUDED.score_updated_at
+            """;
+
+    private static final String TOP_BY_DIFFICULTY = """
+            SELECT recipe_id, title, difficulty, author_username, view_count, score
+            FROM (SELECT f.recipe_id, f.title, f.difficulty, f.author_username, p.view_count, s.score,
+                         row_number() OVER (PARTITION BY f.difficulty ORDER BY s.score DESC, f.recipe_id) AS position
+                  FROM recipe_popularity p
+                           JOIN recipe_feed f ON f.recipe_id = p.recipe_id
+                           CROSS JOIN LATERAL (
+                      SELECT p.score * exp(? * extract(EPOCH FROM CURRENT_TIMESTAMP - p.score_updated_at)) AS score
+                      ) s) ranked
+            WHERE position <= ?
+            ORDER BY difficulty, position
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipePopularityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public int applyViewDeltas(Map<Long, Long> deltas, Duration halfLife) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        Long[] recipeIds = deltas.keySet().toArray(Long[]::new);
+        Long[] views = new Long[recipeIds.length];
+        for (int i = 0; i < recipeIds.length; i++) {
+            views[i] = deltas.get(recipeIds[i]);
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS)) {
+                Array idArray = connection.createArrayOf("bigint", recipeIds);
+                Array viewArray = connection.createArrayOf("bigint", views);
+                statement.setArray(1, idArray);
+                statement.setArray(2, viewArray);
+                statement.setDouble(3, decayRate(halfLife));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<PopularRecipe> findTopByDifficulty(int limitPerDifficulty, Duration halfLife) {
+        return jdbcTemplate.query(TOP_BY_DIFFICULTY,
+                (rs, rowNum) -> new PopularRecipe(
+                        rs.getLong("recipe_id"),
+                        rs.getString("title"),
+                        Difficulty.valueOf(rs.getString("difficulty")),
+                        rs.getString("author_username"),
+                        rs.getLong("view_count"),
+                        rs.getDouble("score")),
+                decayRate(halfLife), limitPerDifficulty);
+    }
+
+    // Negative exponent per second: a score halves every halfLife
+    private static double decayRate(Duration halfLife) {
+        return -Math.log(2) / Math.max(halfLife.toMillis() / 1000.0, 1.0);
+    }
+}
@@ -1,20 +1,38 @@
 package com.oprykhodko.recipeplatformbackend.repository;
 
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
 import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeSearchRepository, RecipeSummaryRepository {
     
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Recipe r JOIN FETCH r.user WHERE r.id = :id")
     Optional<Recipe> findByIdWithUser(@Param("id") Long id);
 
+    // Conditional GET check: version columns by primary key instead of the full recipe and author rows
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.oprykhodko.recipeplatformbackend.dto.RecipeVersion(
+                r.id, r.version, u.version, r.updatedAt, u.updatedAt)
+            FROM Recipe r JOIN r.user u
+            WHERE r.id = :id
+            """)
+    Optional<RecipeVersion> findVersionById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
     @Query("SELECT r FROM Recipe r JOIN FETCH r.user")
     List<Recipe> findAllWithUsers();
 }
@@ -0,0 +1,13 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSearchHit;
+import com.oprykhodko.recipeplatformbackend.dto.SearchCursor;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.util.List;
+
+public interface RecipeSearchRepository {
+
+    List<RecipeSearchHit> search(String query, Difficulty difficulty, Integer maxTotalTimeMinutes,
+                                 SearchCursor after, int limit);
+}
@@ -0,0 +1,72 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSearchHit;
+import com.oprykhodko.recipeplatformbackend.dto.SearchCursor;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Full-text search over the generated recipes.search_vector column (GIN indexed, see V4 migration).
+// Filters are only added to the SQL when present so the planner sees a query tailored to each combination.
+class RecipeSearchRepositoryImpl implements RecipeSearchRepository {
+
+    private static final RowMapper<RecipeSearchHit> HIT_MAPPER = (rs, rowNum) -> new RecipeSearchHit(
+            RecipeSummaryRepositoryImpl.SUMMARY_MAPPER.mapRow(rs, rowNum), rs.getFloat("rank"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    RecipeSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeSearchHit> search(String query, Difficulty difficulty, Integer maxTotalTimeMinutes,
+                                        SearchCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", limit);
+
+        StringBuilder hits = new StringBuilder("""
+                SELECT r.id, r.title, r.difficulty, r.prep_time_minutes, r.cook_time_minutes, r.servings,
+                       r.user_id, r.created_at, ts_rank(r.search_vector, query) AS rank
+                FROM recipes r, websearch_to_tsquery('english', :query) AS query
+                WHERE r.search_vector @@ query
+                """);
+        if (difficulty != null) {
+            hits.append(" AND r.difficulty = :difficulty");
+            params.addValue("difficulty", difficulty.name());
+        }
+        if (maxTotalTimeMinutes != null) {
+            hits.append(" AND r.prep_time_minutes + r.cook_time_minutes <= :maxTotalTime");
+            params.addValue("maxTotalTime", maxTotalTimeMinutes);
+        }
+
+        String seek = "";
+        if (after != null) {
+            seek = "WHERE rank < CAST(:rank AS real) OR (rank = CAST(:rank AS real) AND id < :afterId)";
+            params.addValue("rank", after.rank());
+            params.addValue("afterId", after.id());
+        }
+
+        // Authors are joined only for the rows of the requested page
+        String sql = """
+                WITH hits AS (%s),
+                page AS (
+                    SELECT * FROM hits
+                    %s
+                    ORDER BY rank DESC, id DESC
+                    LIMIT :limit
+                )
+                SELECT page.*, u.username
+                FROM page
+                JOIN users u ON u.id = page.user_id
+                ORDER BY page.rank DESC, page.id DESC
+                """.formatted(hits, seek);
+        return jdbcTemplate.query(sql, params, HIT_MAPPER);
+    }
+}
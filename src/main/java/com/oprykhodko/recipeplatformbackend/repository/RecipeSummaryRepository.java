@@ -0,0 +1,15 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RecipeSummaryRepository {
+
+    List<RecipeSummary> findSummaries(Difficulty difficulty, Long userId, RecipeCursor after, int limit);
+
+    List<RecipeSummary> findLatestSummariesByUserIds(Collection<Long> userIds, int perUser);
+}
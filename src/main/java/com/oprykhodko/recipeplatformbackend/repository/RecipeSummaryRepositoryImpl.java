@@ -0,0 +1,109 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Recipe listings projected straight into RecipeSummary, so no managed entities or snapshots are created.
+class RecipeSummaryRepositoryImpl implements RecipeSummaryRepository {
+
+    static final RowMapper<RecipeSummary> SUMMARY_MAPPER = (rs, rowNum) -> new RecipeSummary(
+            rs.getLong("id"),
+            rs.getString("title"),
+            Difficulty.valueOf(rs.getString("difficulty")),
+            rs.getInt("prep_time_minutes"),
+            rs.getInt("cook_time_minutes"),
+            rs.getInt("servings"),
+            rs.getLong("user_id"),
+            rs.getString("username"),
+            rs.getObject("created_at", OffsetDateTime.class));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    RecipeSummaryRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Keyset pagination: newest first, seeking on (created_at, id) so every page is an index range scan.
+    // Filters are only added to the query when present, so each combination is planned against the matching
+    // (…, created_at, id) index, and the seek is a row-value comparison the index can start from directly.
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeSummary> findSummaries(Difficulty difficulty, Long userId, RecipeCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        if (difficulty != null) {
+            predicates.add("r.difficulty = :difficulty");
+        }
+        if (userId != null) {
+            predicates.add("u.id = :userId");
+        }
+        if (after != null) {
+            predicates.add("(r.createdAt, r.id) < (:createdAt, :id)");
+        }
+        String jpql = """
+                SELECT new com.oprykhodko.recipeplatformbackend.dto.RecipeSummary(
+                    r.id, r.title, r.difficulty, r.prepTimeMinutes, r.cookTimeMinutes, r.servings,
+                    u.id, u.username, r.createdAt)
+                FROM Recipe r JOIN r.user u
+                %s
+                ORDER BY r.createdAt DESC, r.id DESC
+                """.formatted(predicates.isEmpty() ? "" : "WHERE " + String.join(" AND ", predicates));
+
+        TypedQuery<RecipeSummary> query = entityManager.createQuery(jpql, RecipeSummary.class)
+                .setMaxResults(limit);
+        if (difficulty != null) {
+            query.setParameter("difficulty", difficulty);
+        }
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (after != null) {
+            query.setParameter("createdAt", after.createdAt());
+            query.setParameter("id", after.id());
+        }
+        return query.getResultList();
+    }
+
+    // Second phase of paging users with their recipes: the newest perUser recipes of each user on the page,
+    // in one query. The lateral subquery is a short range scan of idx_recipes_user_id_created_at_id per user,
+    // so a prolific author costs perUser rows rather than their whole catalogue.
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeSummary> findLatestSummariesByUserIds(Collection<Long> userIds, int perUser) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                SELECT r.id, r.title, r.difficulty, r.prep_time_minutes, r.cook_time_minutes, r.servings,
+                       u.id AS user_id, u.username, r.created_at
+                FROM users u
+                CROSS JOIN LATERAL (
+                    SELECT * FROM recipes
+                    WHERE recipes.user_id = u.id
+                    ORDER BY recipes.created_at DESC, recipes.id DESC
+                    LIMIT :perUser
+                ) r
+                WHERE u.id IN (:userIds)
+                ORDER BY u.id, r.created_at DESC, r.id DESC
+                """;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", userIds)
+                .addValue("perUser", perUser);
+        return jdbcTemplate.query(sql, params, SUMMARY_MAPPER);
+    }
+}
@@ -1,9 +1,16 @@
 package com.oprykhodko.recipeplatformbackend.repository;
 
+import com.oprykhodko.recipeplatformbackend.dto.UserSummary;
 import com.oprykhodko.recipeplatformbackend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,9 +18,27 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.recipes WHERE u.id = :id")
     Optional<User> findUserWithRecipes(Long id);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.recipes")
-    List<User> findAllUsersWithRecipes();
+    // Projection without password_hash or the recipes collection, paged by id. Split in two queries so
+    // that each page seeks the primary key index instead of scanning it from the start.
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.oprykhodko.recipeplatformbackend.dto.UserSummary(u.id, u.username, u.displayName, u.createdAt)
+            FROM User u
+            ORDER BY u.id
+            """)
+    List<UserSummary> findSummariesFirstPage(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.oprykhodko.recipeplatformbackend.dto.UserSummary(u.id, u.username, u.displayName, u.createdAt)
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id
+            """)
+    List<UserSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,51 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeBrowsePage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.ServingsRange;
+import com.oprykhodko.recipeplatformbackend.dto.TotalTimeBucket;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeFeedRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class FeedService {
+
+    private final RecipeFeedRepository recipeFeedRepository;
+    private final RecipeFacetCounter recipeFacetCounter;
+
+    public FeedService(RecipeFeedRepository recipeFeedRepository, RecipeFacetCounter recipeFacetCounter) {
+        this.recipeFeedRepository = recipeFeedRepository;
+        this.recipeFacetCounter = recipeFacetCounter;
+    }
+
+    public CursorPage<FeedItem> findFeed(RecipeCursor after, int size) {
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        List<FeedItem> entries = after == null
+                ? recipeFeedRepository.findFirstPage(pageable)
+                : recipeFeedRepository.findAfter(after.createdAt(), after.id(), pageable);
+
+        List<FeedItem> items = entries.size() > size ? entries.subList(0, size) : entries;
+        String nextCursor = entries.size() > size ? items.getLast().cursor().encode() : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // One page of the filtered listing plus the facet counts for the same filters; the counts come from
+    // memory, so only the page itself touches the database
+    public RecipeBrowsePage browse(Difficulty difficulty, TotalTimeBucket timeBucket, ServingsRange servingsRange,
+                                   RecipeCursor after, int size) {
+        List<FeedItem> entries = recipeFeedRepository.findFiltered(difficulty, timeBucket, servingsRange, after, size + 1);
+
+        List<FeedItem> items = entries.size() > size ? entries.subList(0, size) : entries;
+        String nextCursor = entries.size() > size ? items.getLast().cursor().encode() : null;
+        return new RecipeBrowsePage(items, nextCursor, recipeFacetCounter.facets(difficulty, timeBucket, servingsRange));
+    }
+}
@@ -0,0 +1,326 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.IngredientMatch;
+import com.oprykhodko.recipeplatformbackend.dto.IngredientMatchMode;
+import com.oprykhodko.recipeplatformbackend.entity.Ingredient;
+import com.oprykhodko.recipeplatformbackend.event.RecipeChangedEvent;
+import com.oprykhodko.recipeplatformbackend.event.RecipeIngredientsChangedEvent;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// In-memory inverted index from ingredient to the recipes that use it, so "cook with what I have" queries
+// are bitmap intersections rather than one join per requested ingredient. Posting lists are Roaring
+// bitmaps: compressed, and fast to AND/OR even for ingredients that most recipes use.
+// Kept in sync after commit from ingredient changes and recipe deletions, and rebuilt from the database
+// every rebuild interval to pick up writes made by other instances or directly in SQL.
+@Component
+public class IngredientIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientIndex.class);
+
+    private static final long[] NO_INGREDIENTS = new long[0];
+
+    private static final String LOAD_INGREDIENTS = "SELECT id, name FROM ingredients";
+
+    private static final String LOAD_LINKS = """
+            SELECT recipe_id, ingredient_id
+            FROM recipe_ingredients
+            ORDER BY recipe_id, ingredient_id
+            """;
+
+    // Fewest missing ingredients first, then the most matched ones
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingInt(Ranked::missing)
+            .thenComparing(Comparator.comparingInt(Ranked::matched).reversed())
+            .thenComparingLong(Ranked::recipeId);
+
+    // Link rows per round trip while rebuilding, so the driver never holds the whole table
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate linkReader;
+    private final TransactionTemplate transactionTemplate;
+    // Writers are serialised; readers never lock. A posting list is never modified once published,
+    // changes replace it with a modified copy.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile State state = State.empty();
+    // Changes applied while a rebuild loads, replayed onto the rebuilt state; guarded by writeLock
+    private List<Consumer<State>> changesDuringRebuild;
+
+    public IngredientIndex(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.linkReader = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.linkReader.setFetchSize(LOAD_FETCH_SIZE);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    private record State(Map<Long, Roaring64Bitmap> postings,
+                         Map<Long, long[]> ingredientsByRecipe,
+                         Map<String, Long> idsByName,
+                         Map<Long, String> namesById) {
+
+        static State empty() {
+            return new State(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                    new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private record Ranked(long recipeId, int matched, int missing, long[] ingredients) {
+    }
+
+    public List<IngredientMatch> find(Collection<String> names, IngredientMatchMode mode, int limit) {
+        State current = state;
+        List<Long> queryIds = new ArrayList<>();
+        for (String name : names) {
+            Long id = current.idsByName().get(Ingredient.normalizeName(name));
+            if (id == null) {
+                if (mode == IngredientMatchMode.ALL) {
+                    return List.of();
+                }
+            } else if (!queryIds.contains(id)) {
+                queryIds.add(id);
+            }
+        }
+        if (queryIds.isEmpty()) {
+            return List.of();
+        }
+
+        Roaring64Bitmap candidates = mode == IngredientMatchMode.ALL
+                ? intersect(current, queryIds)
+                : union(current, queryIds);
+        long[] query = queryIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        return rank(current, candidates, query, limit);
+    }
+
+    public int indexedRecipes() {
+        return state.ingredientsByRecipe().size();
+    }
+
+    @TransactionalEventListener
+    public void onIngredientsChanged(RecipeIngredientsChangedEvent event) {
+        long[] ingredientIds = event.ingredientIdsByName().values().stream()
+                .mapToLong(Long::longValue).sorted().distinct().toArray();
+        apply(target -> {
+            event.ingredientIdsByName().forEach((name, id) -> {
+                target.idsByName().put(name, id);
+                target.namesById().put(id, name);
+            });
+            setIngredients(target, event.recipeId(), ingredientIds);
+        });
+    }
+
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            apply(target -> setIngredients(target, event.recipeId(), NO_INGREDIENTS));
+        }
+    }
+
+    // Loads without blocking writers: changes that arrive meanwhile are applied to the live index as usual
+    // and replayed onto the new one before it is swapped in. Reads the primary, which is what writers commit to.
+    @Scheduled(fixedDelayString = "${recipes.ingredient-index.rebuild-interval:10m}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long startNanos = System.nanoTime();
+            setChangesDuringRebuild(new ArrayList<>());
+            State rebuilt;
+            try {
+                // PostgreSQL only honours the fetch size inside a transaction
+                rebuilt = transactionTemplate.execute(status -> load());
+            } catch (RuntimeException e) {
+                setChangesDuringRebuild(null);
+                log.warn("Failed to rebuild the ingredient index, keeping the current one", e);
+                return;
+            }
+            writeLock.lock();
+            try {
+                for (Consumer<State> change : changesDuringRebuild) {
+                    change.accept(rebuilt);
+                }
+                changesDuringRebuild = null;
+                state = rebuilt;
+            } finally {
+                writeLock.unlock();
+            }
+            log.debug("Rebuilt ingredient index: {} ingredients, {} recipes in {} ms", rebuilt.postings().size(),
+                    rebuilt.ingredientsByRecipe().size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private State load() {
+        State loaded = State.empty();
+        linkReader.query(LOAD_INGREDIENTS, (RowCallbackHandler) resultSet -> {
+            loaded.idsByName().put(resultSet.getString("name"), resultSet.getLong("id"));
+            loaded.namesById().put(resultSet.getLong("id"), resultSet.getString("name"));
+        });
+
+        // Rows arrive grouped by recipe, so each recipe's ingredient array is complete when the next one starts
+        linkReader.query(LOAD_LINKS, (ResultSetExtractor<Void>) resultSet -> {
+            long recipeId = -1;
+            long[] buffer = new long[16];
+            int count = 0;
+            while (resultSet.next()) {
+                long recipe = resultSet.getLong("recipe_id");
+                long ingredient = resultSet.getLong("ingredient_id");
+                if (recipe != recipeId) {
+                    if (count > 0) {
+                        loaded.ingredientsByRecipe().put(recipeId, Arrays.copyOf(buffer, count));
+                    }
+                    recipeId = recipe;
+                    count = 0;
+                }
+                if (count == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                buffer[count++] = ingredient;
+                loaded.postings().computeIfAbsent(ingredient, id -> new Roaring64Bitmap()).addLong(recipe);
+            }
+            if (count > 0) {
+                loaded.ingredientsByRecipe().put(recipeId, Arrays.copyOf(buffer, count));
+            }
+            return null;
+        });
+        loaded.postings().values().forEach(Roaring64Bitmap::runOptimize);
+        return loaded;
+    }
+
+    private void apply(Consumer<State> change) {
+        writeLock.lock();
+        try {
+            change.accept(state);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void setChangesDuringRebuild(List<Consumer<State>> changes) {
+        writeLock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ingredientIds must be sorted; only the posting lists of added or removed ingredients are touched
+    private static void setIngredients(State target, long recipeId, long[] ingredientIds) {
+        long[] previous = target.ingredientsByRecipe().getOrDefault(recipeId, NO_INGREDIENTS);
+        for (long id : previous) {
+            if (Arrays.binarySearch(ingredientIds, id) < 0) {
+                updatePosting(target, id, posting -> posting.removeLong(recipeId));
+            }
+        }
+        for (long id : ingredientIds) {
+            if (Arrays.binarySearch(previous, id) < 0) {
+                updatePosting(target, id, posting -> posting.addLong(recipeId));
+            }
+        }
+        if (ingredientIds.length == 0) {
+            target.ingredientsByRecipe().remove(recipeId);
+        } else {
+            target.ingredientsByRecipe().put(recipeId, ingredientIds);
+        }
+    }
+
+    private static void updatePosting(State target, long ingredientId, Consumer<Roaring64Bitmap> change) {
+        Roaring64Bitmap current = target.postings().get(ingredientId);
+        Roaring64Bitmap updated = current == null ? new Roaring64Bitmap() : current.clone();
+        change.accept(updated);
+        if (updated.isEmpty()) {
+            target.postings().remove(ingredientId);
+        } else {
+            target.postings().put(ingredientId, updated);
+        }
+    }
+
+    // Starts from the shortest posting list so every AND shrinks the smallest possible bitmap
+    private static Roaring64Bitmap intersect(State current, List<Long> ingredientIds) {
+        List<Roaring64Bitmap> postings = new ArrayList<>(ingredientIds.size());
+        for (Long id : ingredientIds) {
+            Roaring64Bitmap posting = current.postings().get(id);
+            if (posting == null) {
+                return new Roaring64Bitmap();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+        Roaring64Bitmap result = postings.getFirst().clone();
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.and(postings.get(i));
+        }
+        return result;
+    }
+
+    private static Roaring64Bitmap union(State current, List<Long> ingredientIds) {
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        for (Long id : ingredientIds) {
+            Roaring64Bitmap posting = current.postings().get(id);
+            if (posting != null) {
+                result.or(posting);
+            }
+        }
+        return result;
+    }
+
+    // Keeps the best `limit` candidates in a bounded heap whose head is the worst one kept
+    private static List<IngredientMatch> rank(State current, Roaring64Bitmap candidates, long[] query, int limit) {
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        LongIterator iterator = candidates.getLongIterator();
+        while (iterator.hasNext()) {
+            long recipeId = iterator.next();
+            long[] ingredients = current.ingredientsByRecipe().get(recipeId);
+            if (ingredients == null) {
+                continue;
+            }
+            int matched = 0;
+            for (long id : ingredients) {
+                if (Arrays.binarySearch(query, id) >= 0) {
+                    matched++;
+                }
+            }
+            best.add(new Ranked(recipeId, matched, ingredients.length - matched, ingredients));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        List<IngredientMatch> matches = new ArrayList<>(ranked.size());
+        for (Ranked recipe : ranked) {
+            List<String> missing = new ArrayList<>(recipe.missing());
+            for (long id : recipe.ingredients()) {
+                if (Arrays.binarySearch(query, id) < 0) {
+                    missing.add(current.namesById().getOrDefault(id, String.valueOf(id)));
+                }
+            }
+            missing.sort(null);
+            matches.add(new IngredientMatch(recipe.recipeId(), recipe.matched(), missing));
+        }
+        return matches;
+    }
+}
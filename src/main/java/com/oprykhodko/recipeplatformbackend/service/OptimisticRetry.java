@@ -0,0 +1,74 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.config.OptimisticRetryProperties;
+import com.oprykhodko.recipeplatformbackend.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Runs read-modify-write work in a fresh transaction and repeats it when the @Version check fails at
+// flush or commit. Waits grow exponentially up to maxBackoff with full jitter, so writers that collided
+// on a hot row spread out instead of colliding again in lockstep. No row locks are held between attempts.
+@Component
+public class OptimisticRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticRetryProperties properties;
+    private final Counter retried;
+    private final Counter exhausted;
+
+    public OptimisticRetry(TransactionTemplate transactionTemplate,
+                           OptimisticRetryProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.retried = Counter.builder("recipes.optimistic.conflicts")
+                .tag("outcome", "retried")
+                .description("Optimistic lock conflicts that were retried")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("recipes.optimistic.conflicts")
+                .tag("outcome", "exhausted")
+                .description("Updates that gave up after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, TransactionCallback<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(work);
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                // Flushes through the shared EntityManager surface the JPA exception, commits the translated one
+                if (attempt >= properties.maxAttempts()) {
+                    exhausted.increment();
+                    throw new ConcurrentUpdateException(operation, attempt, e);
+                }
+                retried.increment();
+                log.debug("{} hit a concurrent update on attempt {}, retrying", operation, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        long initial = properties.initialBackoff().toNanos();
+        long cap = properties.maxBackoff().toNanos();
+        long ceiling = attempt >= 32 ? cap : Math.min(cap, initial << (attempt - 1));
+        long sleepNanos = ThreadLocalRandom.current().nextLong(Math.max(ceiling, 1) + 1);
+        try {
+            Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying", attempt, e);
+        }
+    }
+}
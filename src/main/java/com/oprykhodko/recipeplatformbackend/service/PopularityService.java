@@ -0,0 +1,108 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.config.PopularityProperties;
+import com.oprykhodko.recipeplatformbackend.dto.PopularRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.repository.RecipePopularityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-behind popularity tracking: views are counted in memory and written to recipe_popularity as
+// aggregated deltas every flush interval, so a view never costs a database write on the request path.
+// Views still in memory are lost on a crash; flushInterval and maxPendingViews bound how many.
+@Service
+public class PopularityService {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularityService.class);
+
+    private final RecipeViewCounter viewCounter;
+    private final RecipePopularityRepository popularityRepository;
+    private final PopularityProperties properties;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final Executor earlyFlushExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Map<Difficulty, List<PopularRecipe>> ranking = Map.of();
+
+    public PopularityService(RecipeViewCounter viewCounter,
+                             RecipePopularityRepository popularityRepository,
+                             PopularityProperties properties) {
+        this.viewCounter = viewCounter;
+        this.popularityRepository = popularityRepository;
+        this.properties = properties;
+    }
+
+    public void recordView(Long recipeId) {
+        viewCounter.increment(recipeId);
+        if (viewCounter.pendingViews() >= properties.maxPendingViews() && earlyFlushScheduled.compareAndSet(false, true)) {
+            earlyFlushExecutor.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    earlyFlushScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    // Served from the ranking precomputed by refreshRanking(); a null difficulty merges all difficulties
+    public List<PopularRecipe> findPopular(Difficulty difficulty, int limit) {
+        Map<Difficulty, List<PopularRecipe>> current = ranking;
+        if (difficulty != null) {
+            List<PopularRecipe> top = current.getOrDefault(difficulty, List.of());
+            return top.subList(0, Math.min(limit, top.size()));
+        }
+        return current.values().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingDouble(PopularRecipe::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.popularity.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = viewCounter.drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                int written = popularityRepository.applyViewDeltas(deltas, properties.halfLife());
+                log.debug("Flushed views of {} recipes ({} rows written)", deltas.size(), written);
+            } catch (RuntimeException e) {
+                viewCounter.restore(deltas);
+                log.warn("Failed to flush views of {} recipes, retrying with the next flush", deltas.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.popularity.ranking-refresh-interval:30s}")
+    public void refreshRanking() {
+        Map<Difficulty, List<PopularRecipe>> refreshed = new EnumMap<>(Difficulty.class);
+        for (PopularRecipe recipe : popularityRepository.findTopByDifficulty(properties.rankingSize(), properties.halfLife())) {
+            refreshed.computeIfAbsent(recipe.difficulty(), d -> new ArrayList<>()).add(recipe);
+        }
+        refreshed.replaceAll((d, recipes) -> List.copyOf(recipes));
+        ranking = refreshed;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
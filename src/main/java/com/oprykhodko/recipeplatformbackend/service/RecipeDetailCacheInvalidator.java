@@ -0,0 +1,84 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.oprykhodko.recipeplatformbackend.config.CacheConfig;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.event.RecipeChangedEvent;
+import com.oprykhodko.recipeplatformbackend.event.RecipesBulkChangedEvent;
+import com.oprykhodko.recipeplatformbackend.event.UserChangedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Evicts cached recipe detail views once the transaction that changed the underlying rows has committed.
+// Eviction alone would let a miss that read the old row before the commit put it back afterwards, so every
+// eviction first bumps a generation, and a loaded detail is only kept if the generation taken before its
+// read is still current after its put: either the check sees the bump, or the eviction follows the put.
+@Component
+public class RecipeDetailCacheInvalidator {
+
+    // Recipes share generations by id; a collision only costs an extra miss
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final AtomicLongArray recipeGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    // Bumped by changes that evict many recipes at once
+    private final AtomicLong allGeneration = new AtomicLong();
+
+    public RecipeDetailCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public RecipeDetail get(Long recipeId) {
+        return recipeDetails().get(recipeId, RecipeDetail.class);
+    }
+
+    // Taken before the detail is read from the database
+    public long generation(Long recipeId) {
+        return recipeGenerations.get(stripe(recipeId)) + allGeneration.get();
+    }
+
+    public void putIfCurrent(Long recipeId, RecipeDetail detail, long generation) {
+        org.springframework.cache.Cache cache = recipeDetails();
+        cache.put(recipeId, detail);
+        if (generation(recipeId) != generation) {
+            cache.evict(recipeId);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        recipeGenerations.incrementAndGet(stripe(event.recipeId()));
+        recipeDetails().evict(event.recipeId());
+    }
+
+    // Detail views embed the author's username and display name, so every cached recipe of that author goes
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        allGeneration.incrementAndGet();
+        org.springframework.cache.Cache cache = recipeDetails();
+        if (cache.getNativeCache() instanceof Cache<?, ?> nativeCache) {
+            nativeCache.asMap().values().removeIf(value ->
+                    value instanceof RecipeDetail detail && event.userId().equals(detail.authorId()));
+        } else {
+            cache.clear();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBulkChange(RecipesBulkChangedEvent event) {
+        allGeneration.incrementAndGet();
+        recipeDetails().clear();
+    }
+
+    private static int stripe(Long recipeId) {
+        return Long.hashCode(recipeId) & (GENERATION_STRIPES - 1);
+    }
+
+    private org.springframework.cache.Cache recipeDetails() {
+        return cacheManager.getCache(CacheConfig.RECIPE_DETAILS);
+    }
+}
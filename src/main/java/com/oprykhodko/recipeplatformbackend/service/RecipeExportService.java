@@ -0,0 +1,152 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.oprykhodko.recipeplatformbackend.config.RecipeExportProperties;
+import com.oprykhodko.recipeplatformbackend.dto.ExportFormat;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+// Streams the catalogue row by row from the JDBC cursor into the response. Writes block while the client
+// is slow to read, which in turn pauses fetching from the cursor, so memory stays bounded by the fetch
+// size and the output buffers no matter how many recipes there are.
+@Service
+public class RecipeExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeExportService.class);
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addNumberColumn("id")
+            .addColumn("title")
+            .addColumn("description")
+            .addNumberColumn("prepTimeMinutes")
+            .addNumberColumn("cookTimeMinutes")
+            .addNumberColumn("servings")
+            .addColumn("difficulty")
+            .addNumberColumn("authorId")
+            .addColumn("authorUsername")
+            .addColumn("createdAt")
+            .addColumn("updatedAt")
+            .setUseHeader(true)
+            .build();
+
+    private final RecipeExportRepository recipeExportRepository;
+    private final ObjectMapper objectMapper;
+    private final RecipeExportProperties properties;
+
+    public RecipeExportService(RecipeExportRepository recipeExportRepository,
+                               ObjectMapper objectMapper,
+                               RecipeExportProperties properties) {
+        this.recipeExportRepository = recipeExportRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public Duration timeout() {
+        return properties.timeout();
+    }
+
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        long startNanos = System.nanoTime();
+        long[] rows = new long[1];
+        boolean ndjson = format == ExportFormat.NDJSON;
+        try (JsonGenerator generator = createGenerator(format, out)) {
+            try {
+                recipeExportRepository.forEachRecipe(resultSet -> {
+                    writeRow(generator, resultSet, ndjson);
+                    if (++rows[0] % properties.flushEveryRows() == 0) {
+                        // Pushes a chunk to the client rather than letting output pile up behind the cursor
+                        flush(generator);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Typically the client went away; the cursor and transaction are already closed at this point
+                log.info("Recipe export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+        }
+        log.info("Exported {} recipes as {} in {} ms", rows[0], format, (System.nanoTime() - startNanos) / 1_000_000);
+        return rows[0];
+    }
+
+    // The servlet container owns the response stream, so closing the generator only flushes it
+    private JsonGenerator createGenerator(ExportFormat format, OutputStream out) throws IOException {
+        JsonGenerator generator = switch (format) {
+            case NDJSON -> objectMapper.getFactory().createGenerator(out)
+                    .setRootValueSeparator(new SerializedString(""));
+            case CSV -> {
+                JsonGenerator csv = CSV_MAPPER.getFactory().createGenerator(out);
+                csv.setSchema(CSV_SCHEMA);
+                yield csv;
+            }
+        };
+        return generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Same field sequence for both formats; the CSV generator maps the names onto the schema columns
+    private static void writeRow(JsonGenerator generator, ResultSet resultSet, boolean ndjson) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", resultSet.getLong("id"));
+            generator.writeStringField("title", resultSet.getString("title"));
+            generator.writeStringField("description", resultSet.getString("description"));
+            writeInt(generator, "prepTimeMinutes", resultSet, "prep_time_minutes");
+            writeInt(generator, "cookTimeMinutes", resultSet, "cook_time_minutes");
+            writeInt(generator, "servings", resultSet, "servings");
+            generator.writeStringField("difficulty", resultSet.getString("difficulty"));
+            generator.writeNumberField("authorId", resultSet.getLong("author_id"));
+            generator.writeStringField("authorUsername", resultSet.getString("author_username"));
+            writeTimestamp(generator, "createdAt", resultSet, "created_at");
+            writeTimestamp(generator, "updatedAt", resultSet, "updated_at");
+            generator.writeEndObject();
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeInt(JsonGenerator generator, String field, ResultSet resultSet, String column)
+            throws IOException, SQLException {
+        int value = resultSet.getInt(column);
+        if (resultSet.wasNull()) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String field, ResultSet resultSet, String column)
+            throws IOException, SQLException {
+        OffsetDateTime value = resultSet.getObject(column, OffsetDateTime.class);
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toInstant().toString());
+        }
+    }
+
+    private static void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
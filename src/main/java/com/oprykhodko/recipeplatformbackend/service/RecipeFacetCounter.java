@@ -0,0 +1,250 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFacetCounts;
+import com.oprykhodko.recipeplatformbackend.dto.ServingsRange;
+import com.oprykhodko.recipeplatformbackend.dto.TotalTimeBucket;
+import com.oprykhodko.recipeplatformbackend.dto.UserRecipeStats;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.event.RecipeFacetsChangedEvent;
+import com.oprykhodko.recipeplatformbackend.event.RecipesBulkChangedEvent;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeFacetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Browse facet counts and per-author totals kept in memory, so the browse page never runs COUNT(*).
+// Recipes are counted in a small cube with one striped LongAdder per (difficulty, time bucket, servings range)
+// cell; any combination of filters is answered by summing cells. Counters move with every committed recipe
+// write and are replaced by a fresh aggregate every reconcile interval, and after bulk imports, to correct
+// writes that bypassed the entity listener or were made by other instances.
+@Component
+public class RecipeFacetCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeFacetCounter.class);
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final TotalTimeBucket[] TIME_BUCKETS = TotalTimeBucket.values();
+    private static final ServingsRange[] SERVINGS_RANGES = ServingsRange.values();
+    private static final int CELLS = DIFFICULTIES.length * TIME_BUCKETS.length * SERVINGS_RANGES.length;
+
+    private final RecipeFacetRepository recipeFacetRepository;
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    // Writers share the read lock, so changes are applied concurrently; reconcile() takes the write lock
+    // to swap in fresh counts without losing a change applied in between
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean earlyReconcileScheduled = new AtomicBoolean();
+    private final Executor earlyReconcileExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Counts counts = new Counts();
+    // Changes applied while a reconcile is loading, added on top of what it loaded; guarded by swapLock
+    private Counts changesDuringReconcile;
+
+    public RecipeFacetCounter(RecipeFacetRepository recipeFacetRepository) {
+        this.recipeFacetRepository = recipeFacetRepository;
+    }
+
+    private static final class AuthorTotals {
+
+        private final LongAdder recipes = new LongAdder();
+        private final LongAdder totalTimeMinutes = new LongAdder();
+    }
+
+    private static final class Counts {
+
+        private final LongAdder[] cells = new LongAdder[CELLS];
+        private final ConcurrentHashMap<Long, AuthorTotals> authors = new ConcurrentHashMap<>();
+
+        private Counts() {
+            for (int i = 0; i < CELLS; i++) {
+                cells[i] = new LongAdder();
+            }
+        }
+
+        // Recipes of unknown total time add nothing to their author's total time, as in the aggregate
+        private void add(Long authorId, Difficulty difficulty, Integer totalTimeMinutes, Integer servings, long recipes) {
+            cells[cell(difficulty, TotalTimeBucket.of(totalTimeMinutes), ServingsRange.of(servings))].add(recipes);
+            if (authorId != null) {
+                addAuthor(authorId, recipes, totalTimeMinutes == null ? 0 : recipes * totalTimeMinutes);
+            }
+        }
+
+        private void addAuthor(Long authorId, long recipes, long totalTimeMinutes) {
+            AuthorTotals totals = authors.computeIfAbsent(authorId, id -> new AuthorTotals());
+            totals.recipes.add(recipes);
+            totals.totalTimeMinutes.add(totalTimeMinutes);
+        }
+
+        private void addAll(Counts other) {
+            for (int i = 0; i < CELLS; i++) {
+                cells[i].add(other.cells[i].sum());
+            }
+            other.authors.forEach((authorId, totals) ->
+                    addAuthor(authorId, totals.recipes.sum(), totals.totalTimeMinutes.sum()));
+        }
+
+        private long total() {
+            long total = 0;
+            for (LongAdder cell : cells) {
+                total += cell.sum();
+            }
+            return total;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFacetsChanged(RecipeFacetsChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(counts, event);
+            if (changesDuringReconcile != null) {
+                apply(changesDuringReconcile, event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // SQL bulk writes do not say which recipes changed
+    @TransactionalEventListener
+    public void onBulkChange(RecipesBulkChangedEvent event) {
+        if (earlyReconcileScheduled.compareAndSet(false, true)) {
+            earlyReconcileExecutor.execute(() -> {
+                try {
+                    reconcile();
+                } finally {
+                    earlyReconcileScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    // Null filters select every value. Sums at most CELLS adders, whatever the size of the catalogue.
+    public RecipeFacetCounts facets(Difficulty difficulty, TotalTimeBucket timeBucket, ServingsRange servingsRange) {
+        long[] cells = new long[CELLS];
+        Counts current = counts;
+        for (int i = 0; i < CELLS; i++) {
+            // Transiently negative while a delete is applied before the create it follows
+            cells[i] = Math.max(0, current.cells[i].sum());
+        }
+
+        long total = 0;
+        Map<Difficulty, Long> byDifficulty = new EnumMap<>(Difficulty.class);
+        Map<TotalTimeBucket, Long> byTimeBucket = new EnumMap<>(TotalTimeBucket.class);
+        Map<ServingsRange, Long> byServingsRange = new EnumMap<>(ServingsRange.class);
+        for (Difficulty d : DIFFICULTIES) {
+            byDifficulty.put(d, 0L);
+        }
+        for (TotalTimeBucket t : TIME_BUCKETS) {
+            byTimeBucket.put(t, 0L);
+        }
+        for (ServingsRange s : SERVINGS_RANGES) {
+            byServingsRange.put(s, 0L);
+        }
+        for (Difficulty d : DIFFICULTIES) {
+            for (TotalTimeBucket t : TIME_BUCKETS) {
+                for (ServingsRange s : SERVINGS_RANGES) {
+                    long count = cells[cell(d, t, s)];
+                    boolean difficultyMatches = difficulty == null || difficulty == d;
+                    boolean timeMatches = timeBucket == null || timeBucket == t;
+                    boolean servingsMatches = servingsRange == null || servingsRange == s;
+                    if (timeMatches && servingsMatches) {
+                        byDifficulty.merge(d, count, Long::sum);
+                    }
+                    if (difficultyMatches && servingsMatches) {
+                        byTimeBucket.merge(t, count, Long::sum);
+                    }
+                    if (difficultyMatches && timeMatches) {
+                        byServingsRange.merge(s, count, Long::sum);
+                        if (servingsMatches) {
+                            total += count;
+                        }
+                    }
+                }
+            }
+        }
+        return new RecipeFacetCounts(total, byDifficulty, byTimeBucket, byServingsRange);
+    }
+
+    // Authors without recipes, and unknown users, have zero of both
+    public UserRecipeStats userStats(Long userId) {
+        AuthorTotals totals = counts.authors.get(userId);
+        long recipes = totals == null ? 0 : Math.max(0, totals.recipes.sum());
+        long totalTimeMinutes = totals == null ? 0 : Math.max(0, totals.totalTimeMinutes.sum());
+        return new UserRecipeStats(userId, recipes, recipes == 0 ? 0 : (double) totalTimeMinutes / recipes);
+    }
+
+    // Runs at startup too, so the counters are filled before the first interval has passed
+    @Scheduled(fixedDelayString = "${recipes.facets.reconcile-interval:10m}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            Counts changes = new Counts();
+            swapChanges(changes);
+
+            // A write committed just before the aggregate starts but applied after the line above is counted
+            // twice until the next reconcile; everything applied from here on is added to the fresh counts
+            Counts loaded = new Counts();
+            try {
+                recipeFacetRepository.forEachGroup(
+                        group -> loaded.add(null, group.difficulty(), group.totalTimeMinutes(), group.servings(), group.recipes()),
+                        totals -> loaded.addAuthor(totals.authorId(), totals.recipes(), totals.totalTimeMinutes()));
+            } catch (RuntimeException e) {
+                swapChanges(null);
+                log.warn("Failed to reconcile recipe facet counts, keeping the incremental counts", e);
+                return;
+            }
+
+            long drift;
+            swapLock.writeLock().lock();
+            try {
+                drift = counts.total() - changes.total() - loaded.total();
+                loaded.addAll(changes);
+                counts = loaded;
+                changesDuringReconcile = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            if (drift != 0) {
+                log.info("Reconciled recipe facet counts, corrected a drift of {} recipes", drift);
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void swapChanges(Counts changes) {
+        swapLock.writeLock().lock();
+        try {
+            changesDuringReconcile = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Counts target, RecipeFacetsChangedEvent event) {
+        if (event.before() != null) {
+            RecipeFacetsChangedEvent.Facets before = event.before();
+            target.add(before.authorId(), before.difficulty(), before.totalTimeMinutes(), before.servings(), -1);
+        }
+        if (event.after() != null) {
+            RecipeFacetsChangedEvent.Facets after = event.after();
+            target.add(after.authorId(), after.difficulty(), after.totalTimeMinutes(), after.servings(), 1);
+        }
+    }
+
+    private static int cell(Difficulty difficulty, TotalTimeBucket timeBucket, ServingsRange servingsRange) {
+        return (difficulty.ordinal() * TIME_BUCKETS.length + timeBucket.ordinal()) * SERVINGS_RANGES.length
+                + servingsRange.ordinal();
+    }
+}
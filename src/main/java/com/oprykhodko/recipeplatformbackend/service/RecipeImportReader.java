@@ -0,0 +1,122 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.oprykhodko.recipeplatformbackend.dto.ImportFormat;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+// Reads import rows one at a time from the request body, so nothing beyond the current row is buffered.
+abstract class RecipeImportReader implements Closeable {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    static RecipeImportReader open(InputStream input, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonReader(input, objectMapper.readerFor(RecipeImportRow.class));
+            case CSV -> new CsvReader(CSV_MAPPER.readerFor(RecipeImportRow.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input));
+        };
+    }
+
+    // Returns the next row, or null once the input is exhausted.
+    abstract ParsedRow nextRow() throws IOException;
+
+    record ParsedRow(long rowNumber, RecipeImportRow row, String error) {
+
+        static ParsedRow valid(long rowNumber, RecipeImportRow row) {
+            return new ParsedRow(rowNumber, row, null);
+        }
+
+        static ParsedRow invalid(long rowNumber, String error) {
+            return new ParsedRow(rowNumber, null, error);
+        }
+    }
+
+    private static final class NdjsonReader extends RecipeImportReader {
+
+        private final BufferedReader lines;
+        private final ObjectReader rowReader;
+        private long lineNumber;
+
+        private NdjsonReader(InputStream input, ObjectReader rowReader) {
+            this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.rowReader = rowReader;
+        }
+
+        @Override
+        ParsedRow nextRow() throws IOException {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return ParsedRow.valid(lineNumber, rowReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    return ParsedRow.invalid(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    private static final class CsvReader extends RecipeImportReader {
+
+        private final MappingIterator<RecipeImportRow> rows;
+        private long rowNumber;
+        private boolean unreadable;
+
+        private CsvReader(MappingIterator<RecipeImportRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        ParsedRow nextRow() throws IOException {
+            if (unreadable || !rows.hasNextValue()) {
+                return null;
+            }
+            rowNumber++;
+            try {
+                return ParsedRow.valid(rowNumber, rows.nextValue());
+            } catch (JsonMappingException e) {
+                // Field-level problem (bad number, unknown difficulty): the iterator resyncs to the next row
+                return ParsedRow.invalid(rowNumber, "Invalid CSV row: " + e.getOriginalMessage());
+            } catch (JsonParseException e) {
+                // Broken CSV structure: the rest of the stream cannot be trusted
+                unreadable = true;
+                return ParsedRow.invalid(rowNumber, "Unreadable CSV, import stopped: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oprykhodko.recipeplatformbackend.config.RecipeImportProperties;
+import com.oprykhodko.recipeplatformbackend.dto.ImportFormat;
+import com.oprykhodko.recipeplatformbackend.dto.ImportMode;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportReport;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpsertReport;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpsertResult;
+import com.oprykhodko.recipeplatformbackend.dto.UpsertStatus;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.exception.ResourceNotFoundException;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeBatchUpserter;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeCopyLoader;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import com.oprykhodko.recipeplatformbackend.service.RecipeImportReader.ParsedRow;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams rows from the request body and writes them in fixed-size JPA chunks (one transaction per chunk),
+// in multi-row upsert batches keyed by title, or through the PostgreSQL COPY loader.
+@Service
+public class RecipeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeImportService.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final RecipeCopyLoader recipeCopyLoader;
+    private final RecipeBatchUpserter recipeBatchUpserter;
+    private final RecipeImportProperties properties;
+
+    public RecipeImportService(EntityManager entityManager,
+                               TransactionTemplate transactionTemplate,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               UserRepository userRepository,
+                               RecipeCopyLoader recipeCopyLoader,
+                               RecipeBatchUpserter recipeBatchUpserter,
+                               RecipeImportProperties properties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.recipeCopyLoader = recipeCopyLoader;
+        this.recipeBatchUpserter = recipeBatchUpserter;
+        this.properties = properties;
+    }
+
+    public RecipeImportReport importRecipes(InputStream input, ImportFormat format, ImportMode mode, Long userId)
+            throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+
+        ImportProgress progress = new ImportProgress(properties.maxReportedErrors());
+        try (RecipeImportReader reader = RecipeImportReader.open(input, format, objectMapper)) {
+            switch (mode) {
+                case JPA -> importWithJpa(reader, userId, progress);
+                case UPSERT -> importWithUpsert(reader, userId, progress);
+                case COPY -> importWithCopy(reader, userId, progress);
+            }
+        }
+
+        RecipeImportReport report = progress.toReport();
+        log.info("Imported {}/{} recipe rows ({} failed) for user {} via {} in {} ms ({} rows/s)",
+                report.rowsImported(), report.rowsRead(), report.rowsFailed(), userId, mode,
+                report.durationMillis(), Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    private void importWithJpa(RecipeImportReader reader, Long userId, ImportProgress progress) throws IOException {
+        List<ParsedRow> chunk = new ArrayList<>(properties.chunkSize());
+        ParsedRow row;
+        while ((row = nextValidRow(reader, progress)) != null) {
+            chunk.add(row);
+            if (chunk.size() == properties.chunkSize()) {
+                writeChunk(chunk, userId, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, userId, progress);
+        }
+    }
+
+    // Returns a status for every row. Invalid rows are rejected up front; the rest are upserted one chunk per transaction.
+    public RecipeUpsertReport upsertRecipes(Long userId, List<RecipeImportRow> rows) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+
+        RecipeUpsertResult[] results = new RecipeUpsertResult[rows.size()];
+        List<Integer> validIndexes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            String error = validate(rows.get(i));
+            if (error == null) {
+                validIndexes.add(i);
+            } else {
+                String title = rows.get(i) == null ? null : rows.get(i).title();
+                results[i] = new RecipeUpsertResult(title, null, UpsertStatus.INVALID, error);
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += properties.chunkSize()) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + properties.chunkSize(), validIndexes.size()));
+            List<RecipeUpsertResult> chunkResults = recipeBatchUpserter.upsert(userId,
+                    chunk.stream().map(rows::get).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = chunkResults.get(i);
+            }
+        }
+
+        RecipeUpsertReport report = RecipeUpsertReport.of(List.of(results));
+        log.info("Upserted {} recipe rows for user {}: {} created, {} updated, {} unchanged, {} rejected",
+                rows.size(), userId, report.created(), report.updated(), report.unchanged(), report.rejected());
+        return report;
+    }
+
+    private void importWithUpsert(RecipeImportReader reader, Long userId, ImportProgress progress) throws IOException {
+        List<ParsedRow> chunk = new ArrayList<>(properties.chunkSize());
+        ParsedRow row;
+        while ((row = nextValidRow(reader, progress)) != null) {
+            chunk.add(row);
+            if (chunk.size() == properties.chunkSize()) {
+                upsertChunk(chunk, userId, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            upsertChunk(chunk, userId, progress);
+        }
+    }
+
+    private void upsertChunk(List<ParsedRow> chunk, Long userId, ImportProgress progress) {
+        List<RecipeUpsertResult> results;
+        try {
+            results = recipeBatchUpserter.upsert(userId, chunk.stream().map(ParsedRow::row).toList());
+        } catch (RuntimeException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunk.forEach(row -> progress.fail(row.rowNumber(), message));
+            return;
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            RecipeUpsertResult result = results.get(i);
+            if (result.status() == UpsertStatus.CONFLICT) {
+                progress.fail(chunk.get(i).rowNumber(), result.message());
+            } else {
+                progress.rowsImported++;
+            }
+        }
+    }
+
+    // All valid rows go through one COPY and one merge statement, so the job succeeds or fails as a whole.
+    private void importWithCopy(RecipeImportReader reader, Long userId, ImportProgress progress) {
+        try {
+            RecipeCopyLoader.Result result = recipeCopyLoader.load(userId, () -> {
+                ParsedRow row = nextValidRow(reader, progress);
+                return row == null ? null : row.row();
+            });
+            progress.rowsImported += result.inserted() + result.updated();
+            if (result.skipped() > 0) {
+                log.info("COPY import for user {} skipped {} rows whose titles are duplicated or owned by another user",
+                        userId, result.skipped());
+            }
+        } catch (RuntimeException e) {
+            progress.fail(0, "Bulk load failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private ParsedRow nextValidRow(RecipeImportReader reader, ImportProgress progress) throws IOException {
+        ParsedRow parsed;
+        while ((parsed = reader.nextRow()) != null) {
+            progress.rowsRead++;
+            String error = parsed.error() != null ? parsed.error() : validate(parsed.row());
+            if (error == null) {
+                return parsed;
+            }
+            progress.fail(parsed.rowNumber(), error);
+        }
+        return null;
+    }
+
+    // Checks the row against the Bean Validation constraints declared on Recipe without building an entity.
+    private String validate(RecipeImportRow row) {
+        if (row == null) {
+            return "Empty row";
+        }
+        List<String> problems = new ArrayList<>();
+        collectViolations(problems, "title", row.title());
+        collectViolations(problems, "description", row.description());
+        collectViolations(problems, "prepTimeMinutes", row.prepTimeMinutes());
+        collectViolations(problems, "cookTimeMinutes", row.cookTimeMinutes());
+        collectViolations(problems, "servings", row.servings());
+        collectViolations(problems, "difficulty", row.difficulty());
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private void collectViolations(List<String> problems, String property, Object value) {
+        for (ConstraintViolation<Recipe> violation : validator.validateValue(Recipe.class, property, value)) {
+            problems.add(property + " " + violation.getMessage());
+        }
+    }
+
+    private void writeChunk(List<ParsedRow> chunk, Long userId, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk, userId));
+            progress.rowsImported += chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            // A single bad row (e.g. a duplicate title) rolls back the whole chunk; retry row by row to isolate it
+            log.debug("Recipe import chunk failed, retrying {} rows individually", chunk.size(), chunkFailure);
+            for (ParsedRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row), userId));
+                    progress.rowsImported++;
+                } catch (RuntimeException rowFailure) {
+                    progress.fail(row.rowNumber(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(List<ParsedRow> rows, Long userId) {
+        User author = entityManager.getReference(User.class, userId);
+        for (ParsedRow parsed : rows) {
+            RecipeImportRow row = parsed.row();
+            entityManager.persist(new Recipe(row.title(), row.description(), row.prepTimeMinutes(),
+                    row.cookTimeMinutes(), row.servings(), row.difficulty(), author));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static final class ImportProgress {
+
+        private final long startNanos = System.nanoTime();
+        private final int maxReportedErrors;
+        private final List<RecipeImportReport.RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsFailed;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long rowNumber, String message) {
+            rowsFailed++;
+            // Only the first errors are kept so a badly broken file cannot grow the report without bound
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RecipeImportReport.RowError(rowNumber, message));
+            }
+        }
+
+        private RecipeImportReport toReport() {
+            long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+            double rowsPerSecond = rowsRead * 1_000_000_000.0 / elapsedNanos;
+            return new RecipeImportReport(rowsRead, rowsImported, rowsFailed, elapsedNanos / 1_000_000,
+                    rowsPerSecond, errors);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.IngredientMatch;
+import com.oprykhodko.recipeplatformbackend.dto.IngredientMatchMode;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeIngredientMatch;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
+import com.oprykhodko.recipeplatformbackend.entity.Ingredient;
+import com.oprykhodko.recipeplatformbackend.entity.RecipeFeedEntry;
+import com.oprykhodko.recipeplatformbackend.event.RecipeIngredientsChangedEvent;
+import com.oprykhodko.recipeplatformbackend.exception.ResourceNotFoundException;
+import com.oprykhodko.recipeplatformbackend.repository.IngredientRepository;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeFeedRepository;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class RecipeIngredientService {
+
+    private final IngredientRepository ingredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final RecipeFeedRepository recipeFeedRepository;
+    private final RecipeUpdateService recipeUpdateService;
+    private final IngredientIndex ingredientIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecipeIngredientService(IngredientRepository ingredientRepository,
+                                   RecipeRepository recipeRepository,
+                                   RecipeFeedRepository recipeFeedRepository,
+                                   RecipeUpdateService recipeUpdateService,
+                                   IngredientIndex ingredientIndex,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.ingredientRepository = ingredientRepository;
+        this.recipeRepository = recipeRepository;
+        this.recipeFeedRepository = recipeFeedRepository;
+        this.recipeUpdateService = recipeUpdateService;
+        this.ingredientIndex = ingredientIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public record UpdatedIngredients(List<String> ingredients, RecipeVersion version) {
+    }
+
+    public List<String> findIngredients(Long recipeId) {
+        if (!recipeRepository.existsById(recipeId)) {
+            throw new ResourceNotFoundException("Recipe", recipeId);
+        }
+        return ingredientRepository.findNamesByRecipeId(recipeId);
+    }
+
+    // Goes through the optimistic update path, so a changed ingredient set bumps the recipe version
+    // and honours If-Match like any other recipe update. Unknown names become new ingredients.
+    public UpdatedIngredients replaceIngredients(Long recipeId, String ifMatch, Collection<String> names) {
+        List<String> normalized = names.stream()
+                .map(Ingredient::normalizeName)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        RecipeUpdateService.UpdatedRecipe updated = recipeUpdateService.update(recipeId, ifMatch, recipe -> {
+            List<Ingredient> ingredients = resolve(normalized);
+            recipe.replaceIngredients(new HashSet<>(ingredients));
+            // Only reaches the index if this attempt commits
+            eventPublisher.publishEvent(new RecipeIngredientsChangedEvent(recipeId, ingredients.stream()
+                    .collect(Collectors.toMap(Ingredient::getName, Ingredient::getId))));
+        });
+        return new UpdatedIngredients(normalized, updated.version());
+    }
+
+    // Candidates and their ranking come from the in-memory index; only the returned page is read from recipe_feed
+    public List<RecipeIngredientMatch> findByIngredients(Collection<String> names, IngredientMatchMode mode, int limit) {
+        List<IngredientMatch> matches = ingredientIndex.find(names, mode, limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RecipeFeedEntry> entries = new HashMap<>();
+        recipeFeedRepository.findByRecipeIdIn(matches.stream().map(IngredientMatch::recipeId).toList())
+                .forEach(entry -> entries.put(entry.getRecipeId(), entry));
+        // A recipe deleted since the index was read has no entry and is skipped
+        return matches.stream()
+                .filter(match -> entries.containsKey(match.recipeId()))
+                .map(match -> {
+                    RecipeFeedEntry entry = entries.get(match.recipeId());
+                    return new RecipeIngredientMatch(entry.getRecipeId(), entry.getTitle(), entry.getDifficulty(),
+                            entry.getTotalTimeMinutes(), entry.getAuthorUsername(),
+                            match.matchedIngredients(), match.missingIngredients());
+                })
+                .toList();
+    }
+
+    private List<Ingredient> resolve(List<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        ingredientRepository.insertMissing(names.toArray(String[]::new));
+        return ingredientRepository.findByNameIn(names);
+    }
+}
@@ -0,0 +1,77 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeCursor;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSearchHit;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
+import com.oprykhodko.recipeplatformbackend.dto.SearchCursor;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional(readOnly = true)
+public class RecipeService {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeDetailCacheInvalidator recipeDetailCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecipeService(RecipeRepository recipeRepository,
+                         RecipeDetailCacheInvalidator recipeDetailCache,
+                         TransactionTemplate transactionTemplate) {
+        this.recipeRepository = recipeRepository;
+        this.recipeDetailCache = recipeDetailCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Read-through cache of the immutable detail view; see RecipeDetailCacheInvalidator for eviction.
+    // Runs outside a transaction, so a cache hit never borrows a connection.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<RecipeDetail> findRecipeDetail(Long id) {
+        RecipeDetail cached = recipeDetailCache.get(id);
+        return cached != null ? Optional.of(cached) : reloadRecipeDetail(id);
+    }
+
+    // Also replaces a cached detail found to be older than the recipe's version row
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<RecipeDetail> reloadRecipeDetail(Long id) {
+        long generation = recipeDetailCache.generation(id);
+        // Not read-only on purpose: the load reads the primary, so a lagging replica cannot put the
+        // state from before the write that evicted the entry back into the cache.
+        Optional<RecipeDetail> detail = transactionTemplate.execute(status ->
+                recipeRepository.findByIdWithUser(id).map(RecipeDetail::from));
+        detail.ifPresent(loaded -> recipeDetailCache.putIfCurrent(id, loaded, generation));
+        return detail;
+    }
+
+    public Optional<RecipeVersion> findRecipeVersion(Long id) {
+        return recipeRepository.findVersionById(id);
+    }
+
+    public CursorPage<RecipeSummary> findRecipes(Difficulty difficulty, Long userId, RecipeCursor after, int size) {
+        // One extra row tells us whether another page exists without a COUNT query.
+        List<RecipeSummary> recipes = recipeRepository.findSummaries(difficulty, userId, after, size + 1);
+
+        List<RecipeSummary> items = recipes.size() > size ? recipes.subList(0, size) : recipes;
+        String nextCursor = recipes.size() > size ? items.getLast().cursor().encode() : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public CursorPage<RecipeSearchHit> searchRecipes(String query, Difficulty difficulty, Integer maxTotalTimeMinutes,
+                                                     SearchCursor after, int size) {
+        List<RecipeSearchHit> hits = recipeRepository.search(query, difficulty, maxTotalTimeMinutes, after, size + 1);
+
+        List<RecipeSearchHit> items = hits.size() > size ? hits.subList(0, size) : hits;
+        String nextCursor = hits.size() > size ? items.getLast().cursor().encode() : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,68 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.dto.RecipePatch;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpdateRequest;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.exception.PreconditionFailedException;
+import com.oprykhodko.recipeplatformbackend.exception.ResourceNotFoundException;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Lock-free recipe updates: each attempt reads the row, applies the change and lets the @Version check
+// detect concurrent writers, retrying through OptimisticRetry instead of holding SELECT ... FOR UPDATE locks.
+// Recipe uses @DynamicUpdate, so the UPDATE only lists the columns that actually changed.
+@Service
+public class RecipeUpdateService {
+
+    // The row about to be written is read from the database, never from a possibly stale second-level cache entry
+    private static final Map<String, Object> BYPASS_CACHE = Map.of(
+            "jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+
+    private final EntityManager entityManager;
+    private final OptimisticRetry optimisticRetry;
+
+    public RecipeUpdateService(EntityManager entityManager, OptimisticRetry optimisticRetry) {
+        this.entityManager = entityManager;
+        this.optimisticRetry = optimisticRetry;
+    }
+
+    public record UpdatedRecipe(RecipeDetail detail, RecipeVersion version) {
+    }
+
+    public UpdatedRecipe replace(Long id, String ifMatch, RecipeUpdateRequest request) {
+        return update(id, ifMatch, recipe -> {
+            recipe.setTitle(request.title());
+            recipe.setDescription(request.description());
+            recipe.setPrepTimeMinutes(request.prepTimeMinutes());
+            recipe.setCookTimeMinutes(request.cookTimeMinutes());
+            recipe.setServings(request.servings());
+            recipe.setDifficulty(request.difficulty());
+        });
+    }
+
+    public UpdatedRecipe patch(Long id, String ifMatch, RecipePatch patch) {
+        return update(id, ifMatch, patch::applyTo);
+    }
+
+    // The change may run several times, once per attempt, always against freshly read state
+    public UpdatedRecipe update(Long id, String ifMatch, Consumer<Recipe> change) {
+        return optimisticRetry.execute("Update of recipe " + id, status -> {
+            Recipe recipe = entityManager.find(Recipe.class, id, BYPASS_CACHE);
+            if (recipe == null) {
+                throw new ResourceNotFoundException("Recipe", id);
+            }
+            if (!RecipeVersion.of(recipe).matches(ifMatch)) {
+                throw new PreconditionFailedException("Recipe", id);
+            }
+            change.accept(recipe);
+            entityManager.flush();
+            return new UpdatedRecipe(RecipeDetail.from(recipe), RecipeVersion.of(recipe));
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFeatureRow;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Turns a recipe's title and description into an L2-normalised TF-IDF vector. Title words count twice,
+// term frequencies are dampened with 1 + ln(tf), and words found in a single recipe are left out of the
+// vocabulary since they cannot connect two recipes. The vocabulary and IDF are fixed when fitted;
+// words first seen afterwards are ignored until the next rebuild fits a new vectorizer.
+final class RecipeVectorizer {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Map<String, Integer> termIds;
+    private final float[] idf;
+
+    private RecipeVectorizer(Map<String, Integer> termIds, float[] idf) {
+        this.termIds = termIds;
+        this.idf = idf;
+    }
+
+    // Sparse vector with term ids in ascending order
+    record Vector(int[] terms, float[] weights) {
+
+        static final Vector EMPTY = new Vector(new int[0], new float[0]);
+
+        float dot(Vector other) {
+            float sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < terms.length && j < other.terms.length) {
+                if (terms[i] == other.terms[j]) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (terms[i] < other.terms[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+
+    static RecipeVectorizer fit(Map<String, int[]> documentFrequencies, int documents) {
+        Map<String, Integer> termIds = new HashMap<>();
+        float[] idf = new float[documentFrequencies.size()];
+        for (Map.Entry<String, int[]> entry : documentFrequencies.entrySet()) {
+            int frequency = entry.getValue()[0];
+            if (frequency > 1) {
+                idf[termIds.size()] = (float) (Math.log((1.0 + documents) / (1.0 + frequency)) + 1.0);
+                termIds.put(entry.getKey(), termIds.size());
+            }
+        }
+        return new RecipeVectorizer(termIds, Arrays.copyOf(idf, termIds.size()));
+    }
+
+    // Raw term frequencies, also used to count document frequencies before fitting
+    static Map<String, Integer> termFrequencies(RecipeFeatureRow recipe) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addWords(frequencies, recipe.title(), TITLE_WEIGHT);
+        addWords(frequencies, recipe.description(), 1);
+        return frequencies;
+    }
+
+    int vocabularySize() {
+        return idf.length;
+    }
+
+    Vector vectorize(RecipeFeatureRow recipe) {
+        // Term id in the high half, frequency in the low half, so sorting orders by term id
+        long[] packed = new long[0];
+        int size = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies(recipe).entrySet()) {
+            Integer term = termIds.get(entry.getKey());
+            if (term != null) {
+                if (size == packed.length) {
+                    packed = Arrays.copyOf(packed, Math.max(16, size * 2));
+                }
+                packed[size++] = ((long) term << 32) | entry.getValue();
+            }
+        }
+        if (size == 0) {
+            return Vector.EMPTY;
+        }
+        Arrays.sort(packed, 0, size);
+
+        int[] terms = new int[size];
+        float[] weights = new float[size];
+        double norm = 0;
+        for (int i = 0; i < size; i++) {
+            terms[i] = (int) (packed[i] >>> 32);
+            int frequency = (int) packed[i];
+            weights[i] = (float) ((1.0 + Math.log(frequency)) * idf[terms[i]]);
+            norm += weights[i] * weights[i];
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < size; i++) {
+            weights[i] *= scale;
+        }
+        return new Vector(terms, weights);
+    }
+
+    private static void addWords(Map<String, Integer> frequencies, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                frequencies.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory view counts not yet written to recipe_popularity. Each recipe has a striped LongAdder, so
+// concurrent views of the same hot recipe do not contend on a single cache line.
+@Component
+public class RecipeViewCounter {
+
+    private final ConcurrentHashMap<Long, ViewCount> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingViews = new LongAdder();
+
+    private static final class ViewCount {
+
+        private final LongAdder views = new LongAdder();
+        // Set once the drain has removed this count from the map; nothing reads it after that
+        private volatile boolean retired;
+    }
+
+    public void increment(Long recipeId) {
+        increment(recipeId, 1);
+    }
+
+    // Views counted since the last drain, summed over all recipes
+    public long pendingViews() {
+        return pendingViews.sum();
+    }
+
+    // Takes the counts accumulated since the previous drain. Counts of recipes that had no views in the
+    // last interval are dropped so the map only holds recently viewed recipes.
+    public Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, ViewCount> entry : pending.entrySet()) {
+            ViewCount count = entry.getValue();
+            long views = count.views.sumThenReset();
+            if (views == 0 && pending.remove(entry.getKey(), count)) {
+                // Retired before the last sweep: a view added after the sweep sees the flag and moves itself
+                count.retired = true;
+                views = count.views.sumThenReset();
+            }
+            if (views > 0) {
+                deltas.put(entry.getKey(), views);
+            }
+        }
+        pendingViews.add(-deltas.values().stream().mapToLong(Long::longValue).sum());
+        return deltas;
+    }
+
+    // Puts counts back after a failed flush so they are retried with the next one
+    public void restore(Map<Long, Long> deltas) {
+        deltas.forEach(this::increment);
+    }
+
+    private void increment(Long recipeId, long views) {
+        pendingViews.add(views);
+        while (views != 0) {
+            ViewCount count = pending.computeIfAbsent(recipeId, id -> new ViewCount());
+            count.views.add(views);
+            if (!count.retired) {
+                return;
+            }
+            // The drain may have swept before this add landed; whatever is left moves to the new count,
+            // and each view is reset out of the retired count exactly once, by the drain or by us
+            views = count.views.sumThenReset();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.event.RecipesBulkChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// SQL-level bulk writes are invisible to Hibernate, so the affected second-level cache regions are dropped after commit.
+@Component
+public class SecondLevelCacheInvalidator {
+
+    static final String USER_RECIPES_ROLE = User.class.getName() + ".recipes";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener
+    public void onBulkChange(RecipesBulkChangedEvent event) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Recipe.class);
+        cache.evictCollectionData(USER_RECIPES_ROLE);
+        cache.evictQueryRegions();
+    }
+}
@@ -0,0 +1,139 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.SimilarRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// What GET /recipes/{id}/similar reads. The neighbour lists of the last full build sit in flat arrays with k
+// slots per recipe (unused slots hold -1); rows recomputed by incremental refreshes since then override them.
+// Immutable: a refresh publishes a new instance that shares the build's arrays.
+final class SimilarRecipeIndex {
+
+    static final SimilarRecipeIndex EMPTY = new SimilarRecipeIndex(new long[0], new String[0], new byte[0], 0,
+            new long[0], new float[0], Map.of(), Set.of());
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final long[] ids;
+    private final String[] titles;
+    private final byte[] difficulties;
+    private final int k;
+    private final long[] neighbours;
+    private final float[] scores;
+    private final Map<Long, Row> overrides;
+    private final Set<Long> removed;
+
+    SimilarRecipeIndex(long[] ids, String[] titles, byte[] difficulties, int k, long[] neighbours, float[] scores,
+                       Map<Long, Row> overrides, Set<Long> removed) {
+        this.ids = ids;
+        this.titles = titles;
+        this.difficulties = difficulties;
+        this.k = k;
+        this.neighbours = neighbours;
+        this.scores = scores;
+        this.overrides = overrides;
+        this.removed = removed;
+    }
+
+    // A recipe's neighbours, best first
+    record Row(String title, Difficulty difficulty, long[] neighbours, float[] scores) {
+
+        // Adds or re-scores one neighbour, keeping at most k; returns this row when a new neighbour does not make it
+        Row withNeighbour(long id, float score, int k) {
+            boolean present = Arrays.stream(neighbours).anyMatch(neighbour -> neighbour == id);
+            if (!present && neighbours.length >= k && score <= scores[neighbours.length - 1]) {
+                return this;
+            }
+            long[] updatedNeighbours = new long[neighbours.length + 1];
+            float[] updatedScores = new float[neighbours.length + 1];
+            int size = 0;
+            boolean inserted = false;
+            for (int i = 0; i < neighbours.length; i++) {
+                if (neighbours[i] == id) {
+                    continue;
+                }
+                if (!inserted && score > scores[i]) {
+                    updatedNeighbours[size] = id;
+                    updatedScores[size++] = score;
+                    inserted = true;
+                }
+                updatedNeighbours[size] = neighbours[i];
+                updatedScores[size++] = scores[i];
+            }
+            if (!inserted) {
+                updatedNeighbours[size] = id;
+                updatedScores[size++] = score;
+            }
+            size = Math.min(size, k);
+            return new Row(title, difficulty, Arrays.copyOf(updatedNeighbours, size), Arrays.copyOf(updatedScores, size));
+        }
+    }
+
+    int k() {
+        return k;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    Map<Long, Row> overrides() {
+        return overrides;
+    }
+
+    SimilarRecipeIndex withChanges(Map<Long, Row> overrides, Set<Long> removed) {
+        return new SimilarRecipeIndex(ids, titles, difficulties, k, neighbours, scores, Map.copyOf(overrides),
+                Set.copyOf(removed));
+    }
+
+    // A binary search and at most k lookups; recipes unknown to the index, or deleted, have no neighbours
+    List<SimilarRecipe> find(long id, int limit) {
+        Row row = row(id);
+        if (row == null) {
+            return List.of();
+        }
+        List<SimilarRecipe> similar = new ArrayList<>(Math.min(limit, row.neighbours().length));
+        for (int i = 0; i < row.neighbours().length && similar.size() < limit; i++) {
+            long neighbour = row.neighbours()[i];
+            if (removed.contains(neighbour)) {
+                continue;
+            }
+            Row override = overrides.get(neighbour);
+            if (override != null) {
+                similar.add(new SimilarRecipe(neighbour, override.title(), override.difficulty(), row.scores()[i]));
+                continue;
+            }
+            int doc = Arrays.binarySearch(ids, neighbour);
+            if (doc >= 0) {
+                similar.add(new SimilarRecipe(neighbour, titles[doc], DIFFICULTIES[difficulties[doc]], row.scores()[i]));
+            }
+        }
+        return similar;
+    }
+
+    Row row(long id) {
+        if (removed.contains(id)) {
+            return null;
+        }
+        Row override = overrides.get(id);
+        if (override != null) {
+            return override;
+        }
+        int doc = Arrays.binarySearch(ids, id);
+        if (doc < 0) {
+            return null;
+        }
+        int from = doc * k;
+        int size = 0;
+        while (size < k && neighbours[from + size] >= 0) {
+            size++;
+        }
+        return new Row(titles[doc], DIFFICULTIES[difficulties[doc]],
+                Arrays.copyOfRange(neighbours, from, from + size), Arrays.copyOfRange(scores, from, from + size));
+    }
+}
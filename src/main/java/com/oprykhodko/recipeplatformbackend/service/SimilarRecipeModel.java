@@ -0,0 +1,280 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFeatureRow;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+// Corpus of one similar-recipes build: every recipe's vector and the term -> recipes posting lists, both in
+// flat primitive arrays (compressed sparse rows) so a large catalogue costs a handful of arrays, not objects.
+// Recipes are addressed by their position ("doc") in the id-ordered arrays. Immutable once built, so the
+// fork-join workers of a build and later refreshes read it without locking.
+final class SimilarRecipeModel {
+
+    // A query only looks up its strongest terms, and skips terms used by more than 5% of the catalogue:
+    // they have the longest posting lists and the lowest IDF. This is what makes the search approximate.
+    // Small catalogues keep lists of up to MIN_SKIPPED_POSTING_LENGTH, where scanning them is cheap anyway.
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_SKIPPED_POSTING_LENGTH = 50;
+
+    // Share of the final score taken by text similarity, same difficulty and closeness of total time
+    private static final float TEXT_WEIGHT = 0.8f;
+    private static final float DIFFICULTY_WEIGHT = 0.1f;
+    private static final float TIME_WEIGHT = 0.1f;
+
+    private final RecipeVectorizer vectorizer;
+    private final long[] ids;
+    private final String[] titles;
+    private final byte[] difficulties;
+    private final int[] totalTimes;
+    private final int[] docOffsets;
+    private final int[] docTerms;
+    private final float[] docWeights;
+    private final int[] postingOffsets;
+    private final int[] postingDocs;
+    private final float[] postingWeights;
+    private final int maxPostingLength;
+
+    private SimilarRecipeModel(RecipeVectorizer vectorizer, long[] ids, String[] titles, byte[] difficulties,
+                               int[] totalTimes, int[] docOffsets, int[] docTerms, float[] docWeights) {
+        this.vectorizer = vectorizer;
+        this.ids = ids;
+        this.titles = titles;
+        this.difficulties = difficulties;
+        this.totalTimes = totalTimes;
+        this.docOffsets = docOffsets;
+        this.docTerms = docTerms;
+        this.docWeights = docWeights;
+        this.maxPostingLength = Math.max(MIN_SKIPPED_POSTING_LENGTH, ids.length / 20);
+
+        // Postings are filled in doc order, so each list is sorted by doc
+        int vocabulary = vectorizer.vocabularySize();
+        postingOffsets = new int[vocabulary + 1];
+        for (int term : docTerms) {
+            postingOffsets[term + 1]++;
+        }
+        for (int term = 0; term < vocabulary; term++) {
+            postingOffsets[term + 1] += postingOffsets[term];
+        }
+        postingDocs = new int[docTerms.length];
+        postingWeights = new float[docTerms.length];
+        int[] next = Arrays.copyOf(postingOffsets, vocabulary);
+        for (int doc = 0; doc < ids.length; doc++) {
+            for (int i = docOffsets[doc]; i < docOffsets[doc + 1]; i++) {
+                int position = next[docTerms[i]]++;
+                postingDocs[position] = doc;
+                postingWeights[position] = docWeights[i];
+            }
+        }
+    }
+
+    record Query(long id, RecipeVectorizer.Vector vector, byte difficulty, int totalTime) {
+
+        static Query of(RecipeVectorizer vectorizer, RecipeFeatureRow recipe) {
+            return new Query(recipe.id(), vectorizer.vectorize(recipe), (byte) recipe.difficulty().ordinal(),
+                    recipe.totalTimeMinutes());
+        }
+    }
+
+    // Per-thread accumulator of a search: one score slot per doc, reset after every query
+    static final class Scratch {
+
+        private final float[] scores;
+        private final int[] touched;
+
+        Scratch(int size) {
+            scores = new float[size];
+            touched = new int[size];
+        }
+    }
+
+    // The k best neighbours seen so far, best first; k is small, so insertion into a sorted array beats a heap
+    static final class TopK {
+
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            ids = new long[k];
+            scores = new float[k];
+        }
+
+        void offer(long id, float score) {
+            if (size == ids.length && score <= scores[size - 1]) {
+                return;
+            }
+            int i = size < ids.length ? size++ : size - 1;
+            while (i > 0 && scores[i - 1] < score) {
+                ids[i] = ids[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            scores[i] = score;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long id(int i) {
+            return ids[i];
+        }
+
+        float score(int i) {
+            return scores[i];
+        }
+
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        float[] scores() {
+            return Arrays.copyOf(scores, size);
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    static Builder builder(RecipeVectorizer vectorizer) {
+        return new Builder(vectorizer);
+    }
+
+    static float score(float cosine, byte difficulty, int totalTime, byte otherDifficulty, int otherTotalTime) {
+        float sameDifficulty = difficulty == otherDifficulty ? 1f : 0f;
+        int longer = Math.max(totalTime, otherTotalTime);
+        float timeCloseness = longer == 0 ? 1f : (float) Math.min(totalTime, otherTotalTime) / longer;
+        return TEXT_WEIGHT * cosine + DIFFICULTY_WEIGHT * sameDifficulty + TIME_WEIGHT * timeCloseness;
+    }
+
+    RecipeVectorizer vectorizer() {
+        return vectorizer;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long id(int doc) {
+        return ids[doc];
+    }
+
+    long[] ids() {
+        return ids;
+    }
+
+    String[] titles() {
+        return titles;
+    }
+
+    byte[] difficulties() {
+        return difficulties;
+    }
+
+    Query query(int doc) {
+        int from = docOffsets[doc];
+        int to = docOffsets[doc + 1];
+        RecipeVectorizer.Vector vector = new RecipeVectorizer.Vector(
+                Arrays.copyOfRange(docTerms, from, to), Arrays.copyOfRange(docWeights, from, to));
+        return new Query(ids[doc], vector, difficulties[doc], totalTimes[doc]);
+    }
+
+    // Accumulates dot products over the posting lists of the query's terms, then offers every recipe that shares
+    // a term with the query. The query's own recipe and docs matching skip are left out.
+    void search(Query query, Scratch scratch, TopK top, IntPredicate skip) {
+        int[] terms = query.vector().terms();
+        float[] weights = query.vector().weights();
+        int touchedCount = 0;
+        for (int i : strongestTerms(weights)) {
+            int from = postingOffsets[terms[i]];
+            int to = postingOffsets[terms[i] + 1];
+            if (to - from > maxPostingLength) {
+                continue;
+            }
+            for (int p = from; p < to; p++) {
+                int doc = postingDocs[p];
+                if (scratch.scores[doc] == 0f) {
+                    scratch.touched[touchedCount++] = doc;
+                }
+                scratch.scores[doc] += weights[i] * postingWeights[p];
+            }
+        }
+        for (int t = 0; t < touchedCount; t++) {
+            int doc = scratch.touched[t];
+            float cosine = scratch.scores[doc];
+            scratch.scores[doc] = 0f;
+            if (ids[doc] != query.id() && !skip.test(doc)) {
+                top.offer(ids[doc], score(cosine, query.difficulty(), query.totalTime(), difficulties[doc], totalTimes[doc]));
+            }
+        }
+    }
+
+    private static int[] strongestTerms(float[] weights) {
+        Integer[] order = new Integer[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        if (order.length > MAX_QUERY_TERMS) {
+            Arrays.sort(order, (a, b) -> Float.compare(weights[b], weights[a]));
+        }
+        int[] strongest = new int[Math.min(order.length, MAX_QUERY_TERMS)];
+        for (int i = 0; i < strongest.length; i++) {
+            strongest[i] = order[i];
+        }
+        return strongest;
+    }
+
+    // Collects recipes in id order into growing arrays; build() trims them and derives the posting lists
+    static final class Builder {
+
+        private final RecipeVectorizer vectorizer;
+        private long[] ids = new long[1024];
+        private String[] titles = new String[1024];
+        private byte[] difficulties = new byte[1024];
+        private int[] totalTimes = new int[1024];
+        private int[] docOffsets = new int[1025];
+        private int[] docTerms = new int[16 * 1024];
+        private float[] docWeights = new float[16 * 1024];
+        private int size;
+
+        private Builder(RecipeVectorizer vectorizer) {
+            this.vectorizer = vectorizer;
+        }
+
+        void add(RecipeFeatureRow recipe) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                difficulties = Arrays.copyOf(difficulties, capacity);
+                totalTimes = Arrays.copyOf(totalTimes, capacity);
+                docOffsets = Arrays.copyOf(docOffsets, capacity + 1);
+            }
+            RecipeVectorizer.Vector vector = vectorizer.vectorize(recipe);
+            int offset = docOffsets[size];
+            int end = offset + vector.terms().length;
+            if (end > docTerms.length) {
+                int capacity = Math.max(end, docTerms.length * 2);
+                docTerms = Arrays.copyOf(docTerms, capacity);
+                docWeights = Arrays.copyOf(docWeights, capacity);
+            }
+            System.arraycopy(vector.terms(), 0, docTerms, offset, vector.terms().length);
+            System.arraycopy(vector.weights(), 0, docWeights, offset, vector.weights().length);
+            ids[size] = recipe.id();
+            titles[size] = recipe.title();
+            difficulties[size] = (byte) recipe.difficulty().ordinal();
+            totalTimes[size] = recipe.totalTimeMinutes();
+            docOffsets[++size] = end;
+        }
+
+        SimilarRecipeModel build() {
+            int terms = docOffsets[size];
+            return new SimilarRecipeModel(vectorizer, Arrays.copyOf(ids, size), Arrays.copyOf(titles, size),
+                    Arrays.copyOf(difficulties, size), Arrays.copyOf(totalTimes, size),
+                    Arrays.copyOf(docOffsets, size + 1), Arrays.copyOf(docTerms, terms), Arrays.copyOf(docWeights, terms));
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.config.SimilarRecipesProperties;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFeatureRow;
+import com.oprykhodko.recipeplatformbackend.dto.SimilarRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.event.RecipeChangedEvent;
+import com.oprykhodko.recipeplatformbackend.event.RecipesBulkChangedEvent;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeFeatureRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// "You might also like": precomputed top-k neighbours per recipe, served from memory with no database access.
+// A full build streams one snapshot of the catalogue twice (document frequencies, then vectors) and computes
+// every recipe's neighbours in a fork-join pool. Recipes changed after that are re-vectorised with the build's vocabulary
+// every refresh interval and their rows, plus the rows of their new neighbours, are overridden until the
+// next build. Rows that ranked a changed recipe by its old content keep that score until then.
+@Service
+public class SimilarRecipesService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarRecipesService.class);
+
+    // Refreshed recipes are compared with each other pairwise, so past this many a full build is cheaper
+    private static final int MIN_REFRESHED_BEFORE_REBUILD = 1000;
+
+    private final RecipeFeatureRepository recipeFeatureRepository;
+    private final SimilarRecipesProperties properties;
+    private final TransactionTemplate catalogueSnapshot;
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> deletedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile SimilarRecipeIndex index = SimilarRecipeIndex.EMPTY;
+
+    // The last build and what changed since; guarded by buildLock
+    private SimilarRecipeModel model;
+    private final Map<Long, Refreshed> refreshed = new HashMap<>();
+    private final Set<Long> removed = new HashSet<>();
+
+    public SimilarRecipesService(RecipeFeatureRepository recipeFeatureRepository, SimilarRecipesProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.recipeFeatureRepository = recipeFeatureRepository;
+        this.properties = properties;
+        this.catalogueSnapshot = new TransactionTemplate(transactionManager);
+        catalogueSnapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        catalogueSnapshot.setReadOnly(true);
+    }
+
+    private record Refreshed(String title, Difficulty difficulty, SimilarRecipeModel.Query query) {
+    }
+
+    public List<SimilarRecipe> findSimilar(Long recipeId, int limit) {
+        return index.find(recipeId, limit);
+    }
+
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            deletedIds.add(event.recipeId());
+        } else {
+            changedIds.add(event.recipeId());
+        }
+    }
+
+    // SQL bulk writes do not say which recipes changed
+    @TransactionalEventListener
+    public void onBulkChange(RecipesBulkChangedEvent event) {
+        rebuildRequested.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.similar.rebuild-interval:6h}")
+    public void rebuild() {
+        buildLock.lock();
+        try {
+            long startNanos = System.nanoTime();
+            // Changes committed from here on are picked up by the next refresh, even if the scan sees them too
+            rebuildRequested.set(false);
+            changedIds.clear();
+            deletedIds.clear();
+
+            SimilarRecipeModel built = catalogueSnapshot.execute(status -> buildModel());
+            RecipeVectorizer vectorizer = built.vectorizer();
+
+            int k = properties.neighbours();
+            long[] neighbours = new long[built.size() * k];
+            float[] scores = new float[built.size() * k];
+            Arrays.fill(neighbours, -1L);
+            ForkJoinPool pool = new ForkJoinPool(properties.effectiveParallelism());
+            try {
+                ThreadLocal<SimilarRecipeModel.Scratch> scratches =
+                        ThreadLocal.withInitial(() -> new SimilarRecipeModel.Scratch(built.size()));
+                pool.invoke(new NeighbourTask(built, k, 0, built.size(), neighbours, scores, scratches));
+            } finally {
+                pool.shutdown();
+            }
+
+            model = built;
+            refreshed.clear();
+            removed.clear();
+            index = new SimilarRecipeIndex(built.ids(), built.titles(), built.difficulties(), k, neighbours, scores,
+                    Map.of(), Set.of());
+            log.info("Built similar recipes for {} recipes ({} terms) in {} ms", built.size(),
+                    vectorizer.vocabularySize(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Failed to build similar recipes, keeping the current index", e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    // Both passes read one snapshot, so the vectors are built over exactly the documents the frequencies counted
+    private SimilarRecipeModel buildModel() {
+        Map<String, int[]> documentFrequencies = new HashMap<>();
+        int[] documents = {0};
+        recipeFeatureRepository.forEachRecipe(recipe -> {
+            documents[0]++;
+            for (String word : RecipeVectorizer.termFrequencies(recipe).keySet()) {
+                documentFrequencies.computeIfAbsent(word, w -> new int[1])[0]++;
+            }
+        });
+        RecipeVectorizer vectorizer = RecipeVectorizer.fit(documentFrequencies, documents[0]);
+        SimilarRecipeModel.Builder builder = SimilarRecipeModel.builder(vectorizer);
+        recipeFeatureRepository.forEachRecipe(builder::add);
+        return builder.build();
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.similar.refresh-interval:30s}",
+            initialDelayString = "${recipes.similar.refresh-interval:30s}")
+    public void refresh() {
+        boolean tooManyChanges;
+        buildLock.lock();
+        try {
+            if (model == null) {
+                return;
+            }
+            tooManyChanges = rebuildRequested.get()
+                    || refreshed.size() + changedIds.size() > Math.max(MIN_REFRESHED_BEFORE_REBUILD, model.size() / 10);
+            if (!tooManyChanges) {
+                List<Long> deleted = drain(deletedIds);
+                List<Long> changed = drain(changedIds);
+                if (!deleted.isEmpty() || !changed.isEmpty()) {
+                    applyChanges(changed, deleted);
+                }
+            }
+        } finally {
+            buildLock.unlock();
+        }
+        if (tooManyChanges) {
+            rebuild();
+        }
+    }
+
+    private void applyChanges(List<Long> changed, List<Long> deleted) {
+        for (Long id : deleted) {
+            removed.add(id);
+            refreshed.remove(id);
+        }
+        List<RecipeFeatureRow> rows = changed.isEmpty() ? List.of() : recipeFeatureRepository.findByIds(changed);
+        for (RecipeFeatureRow row : rows) {
+            if (!removed.contains(row.id())) {
+                refreshed.put(row.id(), new Refreshed(row.title(), row.difficulty(),
+                        SimilarRecipeModel.Query.of(model.vectorizer(), row)));
+            }
+        }
+
+        SimilarRecipeIndex current = index;
+        int k = current.k();
+        Map<Long, SimilarRecipeIndex.Row> overrides = new HashMap<>(current.overrides());
+        deleted.forEach(overrides::remove);
+        SimilarRecipeModel.Scratch scratch = new SimilarRecipeModel.Scratch(model.size());
+        SimilarRecipeModel.TopK top = new SimilarRecipeModel.TopK(k);
+        for (RecipeFeatureRow row : rows) {
+            Refreshed recipe = refreshed.get(row.id());
+            if (recipe == null) {
+                continue;
+            }
+            top.clear();
+            // The build's vectors of refreshed or deleted recipes are outdated; refreshed ones are compared directly
+            model.search(recipe.query(), scratch, top, doc -> {
+                long other = model.id(doc);
+                return refreshed.containsKey(other) || removed.contains(other);
+            });
+            for (Refreshed other : refreshed.values()) {
+                if (other.query().id() != row.id()) {
+                    float cosine = recipe.query().vector().dot(other.query().vector());
+                    if (cosine > 0f) {
+                        top.offer(other.query().id(), SimilarRecipeModel.score(cosine,
+                                recipe.query().difficulty(), recipe.query().totalTime(),
+                                other.query().difficulty(), other.query().totalTime()));
+                    }
+                }
+            }
+            overrides.put(row.id(), new SimilarRecipeIndex.Row(recipe.title(), recipe.difficulty(), top.ids(), top.scores()));
+
+            // Similarity is symmetric, so the new neighbours may now rank this recipe among theirs
+            for (int i = 0; i < top.size(); i++) {
+                long neighbour = top.id(i);
+                SimilarRecipeIndex.Row neighbourRow = overrides.containsKey(neighbour)
+                        ? overrides.get(neighbour)
+                        : current.row(neighbour);
+                if (neighbourRow != null) {
+                    SimilarRecipeIndex.Row updated = neighbourRow.withNeighbour(row.id(), top.score(i), k);
+                    if (updated != neighbourRow) {
+                        overrides.put(neighbour, updated);
+                    }
+                }
+            }
+        }
+        index = current.withChanges(overrides, removed);
+        log.debug("Refreshed similar recipes of {} changed and {} deleted recipes", rows.size(), deleted.size());
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Iterator<Long> iterator = ids.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    // Splits the catalogue in halves down to batches; each worker reuses its own scratch accumulator
+    private static final class NeighbourTask extends RecursiveAction {
+
+        private static final int BATCH_SIZE = 256;
+
+        private final SimilarRecipeModel model;
+        private final int k;
+        private final int from;
+        private final int to;
+        private final long[] neighbours;
+        private final float[] scores;
+        private final ThreadLocal<SimilarRecipeModel.Scratch> scratches;
+
+        private NeighbourTask(SimilarRecipeModel model, int k, int from, int to, long[] neighbours, float[] scores,
+                              ThreadLocal<SimilarRecipeModel.Scratch> scratches) {
+            this.model = model;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.neighbours = neighbours;
+            this.scores = scores;
+            this.scratches = scratches;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new NeighbourTask(model, k, from, middle, neighbours, scores, scratches),
+                        new NeighbourTask(model, k, middle, to, neighbours, scores, scratches));
+                return;
+            }
+            SimilarRecipeModel.Scratch scratch = scratches.get();
+            SimilarRecipeModel.TopK top = new SimilarRecipeModel.TopK(k);
+            for (int doc = from; doc < to; doc++) {
+                top.clear();
+                model.search(model.query(doc), scratch, top, other -> false);
+                for (int i = 0; i < top.size(); i++) {
+                    neighbours[doc * k + i] = top.id(i);
+                    scores[doc * k + i] = top.score(i);
+                }
+            }
+        }
+    }
+}
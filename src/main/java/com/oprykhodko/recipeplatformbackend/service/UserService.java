@@ -0,0 +1,58 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.dto.UserSummary;
+import com.oprykhodko.recipeplatformbackend.dto.UserWithRecipes;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final RecipeRepository recipeRepository;
+
+    public UserService(UserRepository userRepository, RecipeRepository recipeRepository) {
+        this.userRepository = userRepository;
+        this.recipeRepository = recipeRepository;
+    }
+
+    public CursorPage<UserSummary> findUsers(Long afterId, int size) {
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        List<UserSummary> users = afterId == null
+                ? userRepository.findSummariesFirstPage(pageable)
+                : userRepository.findSummariesAfter(afterId, pageable);
+
+        List<UserSummary> items = users.size() > size ? users.subList(0, size) : users;
+        String nextCursor = users.size() > size ? String.valueOf(items.getLast().id()) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Pages user ids first and then loads the newest recipesPerUser recipes of that page in a single query,
+    // so memory is bounded by size x recipesPerUser however many recipes an author has.
+    public CursorPage<UserWithRecipes> findUsersWithRecipes(Long afterId, int size, int recipesPerUser) {
+        CursorPage<UserSummary> users = findUsers(afterId, size);
+        if (users.items().isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Long> userIds = users.items().stream().map(UserSummary::id).toList();
+        Map<Long, List<RecipeSummary>> recipesByUser = recipeRepository.findLatestSummariesByUserIds(userIds, recipesPerUser).stream()
+                .collect(Collectors.groupingBy(RecipeSummary::authorId));
+
+        List<UserWithRecipes> items = users.items().stream()
+                .map(user -> new UserWithRecipes(user, recipesByUser.getOrDefault(user.id(), List.of())))
+                .toList();
+        return new CursorPage<>(items, users.nextCursor());
+    }
+}
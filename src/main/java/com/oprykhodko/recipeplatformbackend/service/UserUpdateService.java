@@ -0,0 +1,39 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.dto.UserPatch;
+import com.oprykhodko.recipeplatformbackend.dto.UserSummary;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.exception.ResourceNotFoundException;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+// Same optimistic read-modify-write cycle as RecipeUpdateService; User uses @DynamicUpdate as well.
+@Service
+public class UserUpdateService {
+
+    private static final Map<String, Object> BYPASS_CACHE = Map.of(
+            "jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+
+    private final EntityManager entityManager;
+    private final OptimisticRetry optimisticRetry;
+
+    public UserUpdateService(EntityManager entityManager, OptimisticRetry optimisticRetry) {
+        this.entityManager = entityManager;
+        this.optimisticRetry = optimisticRetry;
+    }
+
+    public UserSummary patch(Long id, UserPatch patch) {
+        return optimisticRetry.execute("Update of user " + id, status -> {
+            User user = entityManager.find(User.class, id, BYPASS_CACHE);
+            if (user == null) {
+                throw new ResourceNotFoundException("User", id);
+            }
+            patch.applyTo(user);
+            entityManager.flush();
+            return new UserSummary(user.getId(), user.getUsername(), user.getDisplayName(), user.getCreatedAt());
+        });
+    }
+}
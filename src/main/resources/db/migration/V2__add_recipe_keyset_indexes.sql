@@ -0,0 +1,11 @@
+-- Indexes backing keyset (cursor) pagination of recipes ordered by (created_at, id)
+
+SET search_path TO public;
+
+-- Keyset pagination needs a total order, so created_at can no longer be NULL
+UPDATE recipes SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE recipes ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_recipes_created_at_id ON recipes (created_at DESC, id DESC);
+CREATE INDEX idx_recipes_difficulty_created_at_id ON recipes (difficulty, created_at DESC, id DESC);
+CREATE INDEX idx_recipes_user_id_created_at_id ON recipes (user_id, created_at DESC, id DESC);
@@ -0,0 +1,7 @@
+-- Switch users/recipes id generation to pooled sequences so Hibernate can batch inserts.
+-- Each nextval reserves a block of 50 ids; the column defaults keep working for plain SQL inserts.
+
+SET search_path TO public;
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE recipes_id_seq INCREMENT BY 50;
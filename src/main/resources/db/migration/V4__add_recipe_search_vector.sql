@@ -0,0 +1,12 @@
+-- Full-text search over recipe title and description
+
+SET search_path TO public;
+
+-- Title matches weigh more than description matches when ranking
+ALTER TABLE recipes ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_recipes_search_vector ON recipes USING GIN (search_vector);
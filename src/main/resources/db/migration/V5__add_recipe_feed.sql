@@ -0,0 +1,77 @@
+-- Denormalized home feed: one row per recipe with its author, kept current by triggers
+
+SET search_path TO public;
+
+CREATE TABLE recipe_feed (
+                             recipe_id BIGINT PRIMARY KEY,
+                             title VARCHAR(200) NOT NULL,
+                             difficulty VARCHAR(20) NOT NULL,
+                             total_time_minutes INTEGER,
+                             servings INTEGER,
+                             author_id BIGINT NOT NULL,
+                             author_username VARCHAR(50) NOT NULL,
+                             author_display_name VARCHAR(100),
+                             created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_recipe_feed_created_at_id ON recipe_feed (created_at DESC, recipe_id DESC);
+CREATE INDEX idx_recipe_feed_author_id ON recipe_feed (author_id);
+
+INSERT INTO recipe_feed (recipe_id, title, difficulty, total_time_minutes, servings,
+                         author_id, author_username, author_display_name, created_at)
+SELECT r.id, r.title, r.difficulty, r.prep_time_minutes + r.cook_time_minutes, r.servings,
+       u.id, u.username, u.display_name, coalesce(r.created_at, CURRENT_TIMESTAMP)
+FROM recipes r
+         JOIN users u ON u.id = r.user_id;
+
+-- Row-level upkeep: a recipe write touches exactly its own feed row, never the whole table
+CREATE FUNCTION recipe_feed_sync_recipe() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM recipe_feed WHERE recipe_id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO recipe_feed (recipe_id, title, difficulty, total_time_minutes, servings,
+                             author_id, author_username, author_display_name, created_at)
+    SELECT NEW.id, NEW.title, NEW.difficulty, NEW.prep_time_minutes + NEW.cook_time_minutes, NEW.servings,
+           u.id, u.username, u.display_name, coalesce(NEW.created_at, CURRENT_TIMESTAMP)
+    FROM users u
+    WHERE u.id = NEW.user_id
+    ON CONFLICT (recipe_id) DO UPDATE SET
+        title = EXCLUDED.title,
+        difficulty = EXCLUDED.difficulty,
+        total_time_minutes = EXCLUDED.total_time_minutes,
+        servings = EXCLUDED.servings,
+        author_id = EXCLUDED.author_id,
+        author_username = EXCLUDED.author_username,
+        author_display_name = EXCLUDED.author_display_name,
+        created_at = EXCLUDED.created_at;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_recipe_feed_sync_recipe
+    AFTER INSERT OR UPDATE OF title, difficulty, prep_time_minutes, cook_time_minutes, servings, user_id, created_at
+              OR DELETE
+    ON recipes
+    FOR EACH ROW
+EXECUTE FUNCTION recipe_feed_sync_recipe();
+
+-- Renaming an author rewrites only that author's rows; deletes cascade through recipes
+CREATE FUNCTION recipe_feed_sync_user() RETURNS trigger AS $$
+BEGIN
+    UPDATE recipe_feed
+    SET author_username = NEW.username,
+        author_display_name = NEW.display_name
+    WHERE author_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_recipe_feed_sync_user
+    AFTER UPDATE OF username, display_name
+    ON users
+    FOR EACH ROW
+    WHEN (OLD.username IS DISTINCT FROM NEW.username OR OLD.display_name IS DISTINCT FROM NEW.display_name)
+EXECUTE FUNCTION recipe_feed_sync_user();
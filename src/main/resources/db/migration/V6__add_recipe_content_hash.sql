@@ -0,0 +1,21 @@
+-- Content fingerprint used by the batch upsert to skip rows that would not change anything
+
+SET search_path TO public;
+
+-- Covers every column a partner can send except the title, which is the upsert key
+CREATE FUNCTION recipe_content_hash(description TEXT,
+                                    prep_time_minutes INTEGER,
+                                    cook_time_minutes INTEGER,
+                                    servings INTEGER,
+                                    difficulty VARCHAR) RETURNS VARCHAR(32) AS $$
+    SELECT md5(coalesce(description, E'\\N') || E'\x1f' ||
+               coalesce(prep_time_minutes::text, E'\\N') || E'\x1f' ||
+               coalesce(cook_time_minutes::text, E'\\N') || E'\x1f' ||
+               coalesce(servings::text, E'\\N') || E'\x1f' ||
+               coalesce(difficulty, E'\\N'))
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+ALTER TABLE recipes ADD COLUMN content_hash VARCHAR(32)
+    GENERATED ALWAYS AS (
+        recipe_content_hash(description, prep_time_minutes, cook_time_minutes, servings, difficulty)
+    ) STORED;
@@ -0,0 +1,11 @@
+-- Aggregated recipe views, written in periodic batches by the popularity write-behind buffer
+
+SET search_path TO public;
+
+-- score is an exponentially decayed view count as of score_updated_at; readers decay it further to "now"
+CREATE TABLE recipe_popularity (
+                                   recipe_id BIGINT PRIMARY KEY REFERENCES recipes(id) ON DELETE CASCADE,
+                                   view_count BIGINT NOT NULL DEFAULT 0,
+                                   score DOUBLE PRECISION NOT NULL DEFAULT 0,
+                                   score_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
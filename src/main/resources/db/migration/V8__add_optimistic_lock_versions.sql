@@ -0,0 +1,6 @@
+-- Version columns for optimistic locking of recipes and users (JPA @Version)
+
+SET search_path TO public;
+
+ALTER TABLE recipes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- Ingredients and the recipe-ingredient link table behind "cook with what I have" queries.
+-- Names are stored normalised (trimmed, single-spaced, lower case) and are unique.
+
+SET search_path TO public;
+
+CREATE TABLE ingredients (
+                             id BIGSERIAL PRIMARY KEY,
+                             name VARCHAR(100) NOT NULL UNIQUE
+);
+
+-- Pooled like users/recipes (see V3__use_pooled_id_sequences.sql)
+ALTER SEQUENCE ingredients_id_seq INCREMENT BY 50;
+
+CREATE TABLE recipe_ingredients (
+                                    recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+                                    ingredient_id BIGINT NOT NULL REFERENCES ingredients(id) ON DELETE CASCADE,
+                                    PRIMARY KEY (recipe_id, ingredient_id)
+);
+
+-- The primary key serves lookups by recipe; this one serves lookups and FK checks by ingredient
+CREATE INDEX idx_recipe_ingredients_ingredient ON recipe_ingredients(ingredient_id, recipe_id);
@@ -0,0 +1,139 @@
+package com.oprykhodko.recipeplatformbackend.admission;
+
+import com.oprykhodko.recipeplatformbackend.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRateLimitEachClientSeparately() throws Exception {
+        AdmissionControlFilter filter = filter(new AdmissionProperties.EndpointLimits(1, 2, 0, Duration.ZERO));
+
+        assertThat(call(filter, "10.0.0.1", 0).getStatus()).isEqualTo(200);
+        assertThat(call(filter, "10.0.0.1", 0).getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = call(filter, "10.0.0.1", 0);
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+
+        assertThat(call(filter, "10.0.0.2", 0).getStatus()).isEqualTo(200);
+        assertThat(rejected("rate_limited")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShedExcessRequestsQuicklyUnderOverload() throws Exception {
+        int maxConcurrent = 2;
+        long handlerMillis = 500;
+        AdmissionControlFilter filter = filter(
+                new AdmissionProperties.EndpointLimits(0, 1, maxConcurrent, Duration.ofMillis(20)));
+
+        int clients = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < clients; i++) {
+                String client = "10.0.1." + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long startNanos = System.nanoTime();
+                    MockHttpServletResponse response = call(filter, client, handlerMillis, inFlight, maxInFlight);
+                    return new long[]{response.getStatus(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)};
+                }));
+            }
+            start.countDown();
+
+            int served = 0;
+            int shed = 0;
+            for (Future<long[]> result : results) {
+                long[] statusAndMillis = result.get(10, TimeUnit.SECONDS);
+                if (statusAndMillis[0] == 200) {
+                    served++;
+                } else {
+                    assertThat(statusAndMillis[0]).isEqualTo(503);
+                    // Shed requests fail fast instead of waiting behind the slow ones
+                    assertThat(statusAndMillis[1]).isLessThan(handlerMillis / 2);
+                    shed++;
+                }
+            }
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(maxConcurrent);
+            assertThat(served).isGreaterThanOrEqualTo(1);
+            assertThat(shed).isGreaterThan(0).isEqualTo(clients - served);
+            assertThat(rejected("overloaded")).isEqualTo(shed);
+            assertThat(meterRegistry.get("http.server.requests.admitted.active").tag("endpoint", "read").gauge().value())
+                    .isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldClassifyEndpoints() {
+        assertThat(EndpointClass.of("GET", "/recipes/42")).isEqualTo(EndpointClass.READ);
+        assertThat(EndpointClass.of("GET", "/recipes/search")).isEqualTo(EndpointClass.SEARCH);
+        assertThat(EndpointClass.of("PATCH", "/recipes/42")).isEqualTo(EndpointClass.WRITE);
+        assertThat(EndpointClass.of("POST", "/recipes/import")).isEqualTo(EndpointClass.BULK);
+        assertThat(EndpointClass.of("GET", "/recipes/export")).isEqualTo(EndpointClass.BULK);
+        assertThat(EndpointClass.of("GET", "/actuator/health")).isNull();
+    }
+
+    private AdmissionControlFilter filter(AdmissionProperties.EndpointLimits readLimits) {
+        return new AdmissionControlFilter(
+                new AdmissionProperties(true, 1000, Map.of(EndpointClass.READ, readLimits)), meterRegistry);
+    }
+
+    private static MockHttpServletResponse call(AdmissionControlFilter filter, String client, long handlerMillis)
+            throws Exception {
+        return call(filter, client, handlerMillis, new AtomicInteger(), new AtomicInteger());
+    }
+
+    private static MockHttpServletResponse call(AdmissionControlFilter filter, String client, long handlerMillis,
+                                                AtomicInteger inFlight, AtomicInteger maxInFlight) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/recipes/1");
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(handlerMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(handler));
+        return response;
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("http.server.requests.rejected").tag("reason", reason).counter().count();
+    }
+}
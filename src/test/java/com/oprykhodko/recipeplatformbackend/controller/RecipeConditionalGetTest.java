@@ -0,0 +1,165 @@
+package com.oprykhodko.recipeplatformbackend.controller;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.config.CacheConfig;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the real Tomcat connector: compression happens there, not in the MVC layer.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "recipes.popularity.flush-interval=1h",
+        "recipes.popularity.ranking-refresh-interval=1h"
+})
+@Import(TestDatabaseConfiguration.class)
+class RecipeConditionalGetTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Recipe recipe;
+
+    @BeforeEach
+    void createRecipe() {
+        long suffix = System.nanoTime();
+        User author = userRepository.save(new User("etag-" + suffix, "etag-" + suffix + "@example.com", "hash", "Etag Author"));
+        String description = "Simmer the onions slowly until golden, then add the stock and season to taste. ".repeat(12);
+        recipe = recipeRepository.save(new Recipe("Etag onion soup " + suffix, description, 15, 60, 4, Difficulty.MEDIUM, author));
+    }
+
+    @Test
+    void shouldAnswerRevalidationWith304WithoutLoadingTheRecipe() throws Exception {
+        HttpResponse<byte[]> first = get(HttpRequest.newBuilder(recipeUri()));
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(first.headers().firstValue("Last-Modified")).isPresent();
+
+        evictCaches();
+        Statistics statistics = statistics();
+        statistics.clear();
+        HttpResponse<byte[]> revalidated = get(HttpRequest.newBuilder(recipeUri()).header("If-None-Match", eTag));
+
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+        assertThat(revalidated.body()).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        HttpResponse<byte[]> unconditional = get(HttpRequest.newBuilder(recipeUri()));
+        assertThat(unconditional.statusCode()).isEqualTo(200);
+        assertThat(statistics.getEntityLoadCount()).isPositive();
+        assertThat(unconditional.body()).isNotEmpty();
+    }
+
+    @Test
+    void shouldChangeETagWhenRecipeOrAuthorChanges() throws Exception {
+        String original = get(HttpRequest.newBuilder(recipeUri())).headers().firstValue("ETag").orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.findById(recipe.getId()).orElseThrow().setServings(6));
+        HttpResponse<byte[]> afterRecipeUpdate = get(HttpRequest.newBuilder(recipeUri()).header("If-None-Match", original));
+        assertThat(afterRecipeUpdate.statusCode()).isEqualTo(200);
+        String updated = afterRecipeUpdate.headers().firstValue("ETag").orElseThrow();
+        assertThat(updated).isNotEqualTo(original);
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(recipe.getUser().getId()).orElseThrow().setDisplayName("Renamed"));
+        HttpResponse<byte[]> afterAuthorUpdate = get(HttpRequest.newBuilder(recipeUri()).header("If-None-Match", updated));
+        assertThat(afterAuthorUpdate.statusCode()).isEqualTo(200);
+        assertThat(new String(afterAuthorUpdate.body())).contains("Renamed");
+    }
+
+    @Test
+    void shouldNotPairADetailCachedBeforeAnUpdateWithTheNewETag() throws Exception {
+        get(HttpRequest.newBuilder(recipeUri()));
+        RecipeDetail cached = cacheManager.getCache(CacheConfig.RECIPE_DETAILS).get(recipe.getId(), RecipeDetail.class);
+        assertThat(cached).isNotNull();
+
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.findById(recipe.getId()).orElseThrow().setServings(9));
+        // As if a read that started before the update committed put its result after the eviction
+        cacheManager.getCache(CacheConfig.RECIPE_DETAILS).put(recipe.getId(), cached);
+
+        HttpResponse<byte[]> response = get(HttpRequest.newBuilder(recipeUri()));
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(new String(response.body())).contains("\"servings\":9");
+        assertThat(cacheManager.getCache(CacheConfig.RECIPE_DETAILS).get(recipe.getId(), RecipeDetail.class))
+                .extracting(RecipeDetail::servings).isEqualTo(9);
+    }
+
+    @Test
+    void shouldGzipDetailWhenClientAcceptsIt() throws Exception {
+        HttpResponse<byte[]> identity = get(HttpRequest.newBuilder(recipeUri()));
+        HttpResponse<byte[]> gzipped = get(HttpRequest.newBuilder(recipeUri()).header("Accept-Encoding", "gzip"));
+
+        assertThat(identity.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gunzip(gzipped.body())).isEqualTo(identity.body());
+        assertThat(gzipped.body().length).isLessThan(identity.body().length / 2);
+    }
+
+    private HttpResponse<byte[]> get(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI recipeUri() {
+        return URI.create("http://localhost:" + port + "/recipes/" + recipe.getId());
+    }
+
+    private void evictCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.oprykhodko.recipeplatformbackend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A tiny fetch size and per-row flushing make the export cross many cursor round trips and flushes.
+// MockMvc never completes the async context, so admission control would never get its bulk permits back.
+@SpringBootTest(properties = {
+        "recipes.export.fetch-size=3",
+        "recipes.export.flush-every-rows=1",
+        "recipes.export.timeout=90s",
+        "recipes.admission.enabled=false"
+})
+@AutoConfigureMockMvc
+@Import(TestDatabaseConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecipeExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        User author = userRepository.save(new User("export-author", "export-author@example.com", "hash", null));
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            recipes.add(new Recipe("Export recipe " + i, "Line one\nline \"two\", with comma " + i, i, 2 * i, 1 + i,
+                    Difficulty.values()[i % 3], author));
+        }
+        recipeRepository.saveAll(recipes);
+    }
+
+    @Test
+    void shouldStreamEveryRecipeAsNdjson() throws Exception {
+        String body = export("NDJSON", "application/x-ndjson");
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(body).endsWith("\n");
+        assertThat(rows).hasSize(recipeCount());
+        assertThat(rows).extracting(row -> row.get("id").asLong()).isSorted();
+        JsonNode exported = rows.stream()
+                .filter(row -> row.get("title").asText().equals("Export recipe 4"))
+                .findFirst().orElseThrow();
+        assertThat(exported.get("description").asText()).isEqualTo("Line one\nline \"two\", with comma 4");
+        assertThat(exported.get("authorUsername").asText()).isEqualTo("export-author");
+        assertThat(exported.get("cookTimeMinutes").asInt()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldStreamEveryRecipeAsCsv() throws Exception {
+        String body = export("CSV", "text/csv");
+
+        assertThat(body).startsWith("id,title,description,prepTimeMinutes,cookTimeMinutes,servings,difficulty,"
+                + "authorId,authorUsername,createdAt,updatedAt\n");
+        assertThat(body).contains("\"Line one\nline \"\"two\"\", with comma 7\"");
+    }
+
+    private String export(String format, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get("/recipes/export").param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The export's own timeout, not the default that other async requests keep
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(90_000);
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(contentType))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private int recipeCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM recipes", Integer.class);
+    }
+}
@@ -0,0 +1,221 @@
+package com.oprykhodko.recipeplatformbackend.datasource;
+
+import com.oprykhodko.recipeplatformbackend.config.CacheConfig;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.dto.UserSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import com.oprykhodko.recipeplatformbackend.service.RecipeService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two independent PostgreSQL instances stand in for primary and replica: rows written to only one of
+// them reveal which instance served a query. The first configured replica is unreachable.
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+class ReadReplicaRoutingTest {
+
+    @Container
+    static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16").withEnv("TZ", "UTC");
+
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16").withEnv("TZ", "UTC");
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("recipes.datasource.replicas[0].url", () -> "jdbc:postgresql://localhost:1/unreachable");
+        registry.add("recipes.datasource.replicas[0].connection-timeout", () -> "250ms");
+        registry.add("recipes.datasource.replicas[1].url", replica::getJdbcUrl);
+        registry.add("recipes.datasource.replicas[1].username", replica::getUsername);
+        registry.add("recipes.datasource.replicas[1].password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void prepareReplica() throws SQLException {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    INSERT INTO users (username, email, password_hash) VALUES ('replica-only', 'replica@example.com', 'hash')
+                    """);
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void writePrimaryOnlyUser() {
+        List<String> onPrimary = transactionTemplate.execute(status -> usernames());
+        if (!onPrimary.contains("primary-only")) {
+            userRepository.save(new User("primary-only", "primary@example.com", "hash", null));
+        }
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromReplica() {
+        assertThat(usernames()).contains("replica-only").doesNotContain("primary-only");
+    }
+
+    @Test
+    void shouldKeepReadWriteTransactionsOnPrimary() {
+        List<String> usernames = transactionTemplate.execute(status -> usernames());
+
+        assertThat(usernames).contains("primary-only").doesNotContain("replica-only");
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhilePinned() {
+        ReadYourWrites.pinToPrimary();
+        try {
+            assertThat(usernames()).contains("primary-only").doesNotContain("replica-only");
+        } finally {
+            ReadYourWrites.release();
+        }
+    }
+
+    @Test
+    void shouldPinClientsWithinReadYourWritesWindow() throws Exception {
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].username", hasItem("replica-only")))
+                .andExpect(jsonPath("$.items[*].username", not(hasItem("primary-only"))));
+
+        Cookie recentWrite = new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 60_000));
+        mockMvc.perform(get("/users").cookie(recentWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].username", hasItem("primary-only")));
+    }
+
+    @Test
+    void shouldEjectUnreachableReplicaAndKeepServingReads() throws SQLException {
+        for (int i = 0; i < 4; i++) {
+            assertThat(usernames()).contains("replica-only");
+        }
+
+        List<ReplicaLoadBalancer.Replica> replicas = dataSource.unwrap(ReadWriteRoutingDataSource.class)
+                .getReplicas().replicas();
+        assertThat(replicas.get(0).isEjected()).isTrue();
+        assertThat(replicas.get(1).isEjected()).isFalse();
+    }
+
+    private List<String> usernames() {
+        return userRepository.findSummariesAfter(0L, PageRequest.ofSize(100)).stream()
+                .map(UserSummary::username)
+                .toList();
+    }
+
+    @Test
+    void shouldNotCacheStateReadFromALaggingReplica() throws SQLException {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        User author = userRepository.save(new User("cache-" + suffix, "cache-" + suffix + "@example.com", "hash", null));
+        Recipe recipe = recipeRepository.save(new Recipe("Original " + suffix, "Description", 5, 10, 2, Difficulty.EASY, author));
+        Long id = recipe.getId();
+        copyToReplica(author, recipe);
+        assertThat(recipeService.findRecipeDetail(id)).get().extracting(RecipeDetail::title).isEqualTo("Original " + suffix);
+
+        // The replica never replays this update, as if it lagged behind indefinitely
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.findById(id).orElseThrow().setTitle("Updated " + suffix));
+        assertThat(cacheManager.getCache(CacheConfig.RECIPE_DETAILS).get(id)).isNull();
+        entityManagerFactory.getCache().evict(Recipe.class, id);
+
+        // A read-only load from the replica sees the old row but does not put it into the second-level cache
+        assertThat(recipeRepository.findById(id)).get().extracting(Recipe::getTitle).isEqualTo("Original " + suffix);
+        assertThat(entityManagerFactory.getCache().contains(Recipe.class, id)).isFalse();
+
+        // The detail cache is refilled from the primary, and so is the second-level cache
+        assertThat(recipeService.findRecipeDetail(id)).get().extracting(RecipeDetail::title).isEqualTo("Updated " + suffix);
+        assertThat(cacheManager.getCache(CacheConfig.RECIPE_DETAILS).get(id, RecipeDetail.class))
+                .extracting(RecipeDetail::title).isEqualTo("Updated " + suffix);
+        assertThat(recipeRepository.findById(id)).get().extracting(Recipe::getTitle).isEqualTo("Updated " + suffix);
+    }
+
+    private static void copyToReplica(User author, Recipe recipe) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             PreparedStatement user = connection.prepareStatement("""
+                     INSERT INTO users (id, username, email, password_hash) VALUES (?, ?, ?, 'hash')
+                     ON CONFLICT (id) DO NOTHING
+                     """);
+             PreparedStatement copy = connection.prepareStatement("""
+                     INSERT INTO recipes (id, title, description, prep_time_minutes, cook_time_minutes, servings, difficulty, user_id)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                     """)) {
+            user.setLong(1, author.getId());
+            user.setString(2, author.getUsername());
+            user.setString(3, author.getEmail());
+            user.executeUpdate();
+            copy.setLong(1, recipe.getId());
+            copy.setString(2, recipe.getTitle());
+            copy.setString(3, recipe.getDescription());
+            copy.setInt(4, recipe.getPrepTimeMinutes());
+            copy.setInt(5, recipe.getCookTimeMinutes());
+            copy.setInt(6, recipe.getServings());
+            copy.setString(7, recipe.getDifficulty().name());
+            copy.setLong(8, author.getId());
+            copy.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.oprykhodko.recipeplatformbackend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecipeCursorTest {
+
+    @Test
+    void shouldRoundTripThroughEncodedToken() {
+        RecipeCursor cursor = new RecipeCursor(OffsetDateTime.of(2025, 3, 1, 12, 30, 15, 123456000, ZoneOffset.UTC), 42L);
+
+        RecipeCursor decoded = RecipeCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldNormalizeOffsetToUtc() {
+        RecipeCursor cursor = new RecipeCursor(OffsetDateTime.of(2025, 3, 1, 14, 0, 0, 0, ZoneOffset.ofHours(2)), 7L);
+
+        RecipeCursor decoded = RecipeCursor.decode(cursor.encode());
+
+        assertThat(decoded.createdAt()).isEqualTo(OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(decoded.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> RecipeCursor.decode("not a cursor"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Malformed cursor");
+    }
+}
@@ -0,0 +1,110 @@
+package com.oprykhodko.recipeplatformbackend.entity;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Verifies that the cached User.recipes collection never serves stale contents after mutations.
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+class UserRecipesCacheTest {
+
+    private static final String USER_RECIPES_ROLE = User.class.getName() + ".recipes";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = String.valueOf(System.nanoTime());
+        userId = transactionTemplate.execute(status -> {
+            User user = new User("l2-" + suffix, "l2-" + suffix + "@example.com", "hash", "Cache User");
+            user.addRecipe(new Recipe("L2 first " + suffix, "Description", 10, 20, 2, Difficulty.EASY, user));
+            return userRepository.save(user).getId();
+        });
+    }
+
+    @Test
+    void shouldServeUnchangedCollectionFromSecondLevelCache() {
+        recipeTitles();
+        long hitsBefore = collectionStatistics().getCacheHitCount();
+
+        assertThat(recipeTitles()).containsExactly("L2 first " + suffix);
+        assertThat(collectionStatistics().getCacheHitCount()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void shouldInvalidateCollectionWhenRecipeIsAdded() {
+        recipeTitles();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            user.addRecipe(new Recipe("L2 second " + suffix, "Description", 5, 5, 1, Difficulty.MEDIUM, user));
+        });
+
+        assertThat(recipeTitles()).containsExactlyInAnyOrder("L2 first " + suffix, "L2 second " + suffix);
+    }
+
+    @Test
+    void shouldInvalidateCollectionWhenRecipeIsRemoved() {
+        recipeTitles();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            user.removeRecipe(user.getRecipes().getFirst());
+        });
+
+        assertThat(recipeTitles()).isEmpty();
+        assertThat(recipeRepository.findAll()).extracting(Recipe::getTitle).doesNotContain("L2 first " + suffix);
+    }
+
+    @Test
+    void shouldInvalidateCollectionWhenRecipeIsSavedWithoutTouchingIt() {
+        recipeTitles();
+
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.save(new Recipe("L2 direct " + suffix, "Description", 5, 5, 1, Difficulty.HARD,
+                        userRepository.getReferenceById(userId))));
+
+        assertThat(recipeTitles()).containsExactlyInAnyOrder("L2 first " + suffix, "L2 direct " + suffix);
+    }
+
+    private List<String> recipeTitles() {
+        return transactionTemplate.execute(status -> userRepository.findById(userId).orElseThrow()
+                .getRecipes().stream()
+                .map(Recipe::getTitle)
+                .toList());
+    }
+
+    private CollectionStatistics collectionStatistics() {
+        return statistics.getCollectionStatistics(USER_RECIPES_ROLE);
+    }
+}
@@ -0,0 +1,53 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import com.oprykhodko.recipeplatformbackend.config.QueryTracingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryTracerTest {
+
+    @Test
+    void shouldCollapseLiteralsAndInListsIntoShape() {
+        String shape = QueryTracer.shape("""
+                select r1_0.id from recipes r1_0
+                where r1_0.title = 'O''Brien' and r1_0.servings > 4 and r1_0.user_id in (?, ?, ?)
+                """);
+
+        assertThat(shape).isEqualTo(
+                "select r1_0.id from recipes r1_0 where r1_0.title = ? and r1_0.servings > ? and r1_0.user_id in (?...)");
+    }
+
+    @Test
+    void shouldKeepOnlyTheNewestSampledTracesInTheRing() {
+        QueryTracer tracer = new QueryTracer(new QueryTracingProperties(true, 1.0, Duration.ofSeconds(10), 4, 20));
+
+        for (int i = 0; i < 10; i++) {
+            tracer.record("select " + i, 0, 0, 1_000, 1, true);
+        }
+
+        QueryTracer.Report report = tracer.report();
+        assertThat(report.executed()).isEqualTo(10);
+        assertThat(report.recent()).hasSize(4);
+        assertThat(report.slow()).isZero();
+    }
+
+    @Test
+    void shouldAlwaysRecordSlowQueriesEvenWhenNotSampled() {
+        QueryTracer tracer = new QueryTracer(new QueryTracingProperties(true, 0.0, Duration.ofMillis(100), 16, 2));
+
+        tracer.record("select fast", 0, 0, Duration.ofMillis(1).toNanos(), 1, false);
+        tracer.record("select slow_a", 1, 0, Duration.ofMillis(150).toNanos(), 5, false);
+        tracer.record("select slow_b", 1, 0, Duration.ofMillis(300).toNanos(), 5, false);
+        tracer.record("select slow_c", 1, 0, Duration.ofMillis(200).toNanos(), 5, false);
+
+        QueryTracer.Report report = tracer.report();
+        assertThat(tracer.sample()).isFalse();
+        assertThat(report.recent()).isEmpty();
+        assertThat(report.slow()).isEqualTo(3);
+        assertThat(report.slowest()).extracting(QueryTrace::shape)
+                .containsExactly("select slow_b", "select slow_c");
+    }
+}
@@ -0,0 +1,84 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "recipes.metrics.sql-statements-per-request-threshold=0")
+@AutoConfigureMockMvc
+@Import(TestDatabaseConfiguration.class)
+class SqlStatementBudgetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldRecordSqlStatementsAndRowsPerRequest() throws Exception {
+        User author = userRepository.save(new User("metrics-author", "metrics-author@example.com", "hash", null));
+        Recipe recipe = recipeRepository.save(new Recipe("Metered soup", "Description", 5, 10, 2, Difficulty.EASY, author));
+
+        mockMvc.perform(get("/recipes/{id}", recipe.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tag("uri", "/recipes/{id}").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(1);
+
+        Counter excessive = meterRegistry.get("http.server.requests.sql.excessive")
+                .tag("uri", "/recipes/{id}").counter();
+        assertThat(excessive.count()).isEqualTo(1);
+
+        DistributionSummary rows = meterRegistry.get("spring.data.repository.rows")
+                .tags("repository", "RecipeRepository", "method", "findByIdWithUser").summary();
+        assertThat(rows.count()).isGreaterThanOrEqualTo(1);
+        assertThat(rows.max()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountStatementsRunThroughJdbcTemplate() throws Exception {
+        // Full-text search bypasses Hibernate and runs on NamedParameterJdbcTemplate
+        mockMvc.perform(get("/recipes/search").param("q", "soup")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tag("uri", "/recipes/search").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldCountOnlyRowsForRowResults() {
+        assertThat(RepositoryResultMetrics.rows(null)).isZero();
+        assertThat(RepositoryResultMetrics.rows(List.of(1, 2, 3))).isEqualTo(3);
+        assertThat(RepositoryResultMetrics.rows(Optional.empty())).isZero();
+        assertThat(RepositoryResultMetrics.rows(42L)).isEqualTo(-1);
+        assertThat(RepositoryResultMetrics.rows(new Object())).isEqualTo(1);
+    }
+}
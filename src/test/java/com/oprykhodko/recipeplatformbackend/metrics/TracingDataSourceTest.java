@@ -0,0 +1,32 @@
+package com.oprykhodko.recipeplatformbackend.metrics;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "recipes.query-tracing.sample-rate=1.0")
+@Import(TestDatabaseConfiguration.class)
+class TracingDataSourceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryTracer queryTracer;
+
+    @Test
+    void shouldReportRowsReadFromSampledQueries() {
+        assertThat(jdbcTemplate.queryForList("SELECT generate_series(1, 3) AS tracing_test_rows", Integer.class))
+                .containsExactly(1, 2, 3);
+
+        assertThat(queryTracer.report().recent())
+                .filteredOn(trace -> trace.shape().contains("tracing_test_rows"))
+                .extracting(QueryTrace::rows)
+                .containsExactly(3L);
+    }
+}
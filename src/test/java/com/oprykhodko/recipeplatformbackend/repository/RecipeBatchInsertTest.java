@@ -0,0 +1,59 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestDatabaseConfiguration.class)
+class RecipeBatchInsertTest {
+
+    private static final int RECIPE_COUNT = 200;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldSendRecipeInsertsInJdbcBatches() {
+        Long userId = userRepository.save(new User("batch-author", "batch-author@example.com", "hash", "Batch Author")).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User author = userRepository.getReferenceById(userId);
+            List<Recipe> recipes = new ArrayList<>(RECIPE_COUNT);
+            for (int i = 0; i < RECIPE_COUNT; i++) {
+                recipes.add(new Recipe("Batch recipe " + i, "Description", 10, 20, 2, Difficulty.EASY, author));
+            }
+            recipeRepository.saveAll(recipes);
+        });
+
+        // 200 rows with batch_size 50 -> 4 INSERT batches plus a handful of pooled sequence calls,
+        // instead of one prepared statement per row.
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(RECIPE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,94 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeUpsertResult;
+import com.oprykhodko.recipeplatformbackend.dto.UpsertStatus;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+class RecipeBatchUpserterTest {
+
+    @Autowired
+    private RecipeBatchUpserter recipeBatchUpserter;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReportPerRowStatus() {
+        User partner = userRepository.save(new User("upsert-partner", "upsert-partner@example.com", "hash", null));
+        User other = userRepository.save(new User("upsert-other", "upsert-other@example.com", "hash", null));
+        recipeRepository.save(new Recipe("Upsert same", "Unchanged", 5, 10, 2, Difficulty.EASY, partner));
+        recipeRepository.save(new Recipe("Upsert changed", "Old", 5, 10, 2, Difficulty.EASY, partner));
+        recipeRepository.save(new Recipe("Upsert foreign", "Someone else's", 5, 10, 2, Difficulty.EASY, other));
+
+        List<RecipeUpsertResult> results = recipeBatchUpserter.upsert(partner.getId(), List.of(
+                new RecipeImportRow("Upsert new", "Brand new", 1, 2, 3, Difficulty.HARD),
+                new RecipeImportRow("Upsert same", "Unchanged", 5, 10, 2, Difficulty.EASY),
+                new RecipeImportRow("Upsert changed", "Old", 5, 10, 4, Difficulty.EASY),
+                new RecipeImportRow("Upsert foreign", "Hijack", 5, 10, 2, Difficulty.EASY),
+                new RecipeImportRow("Upsert new", "Brand new, revised", 1, 2, 3, Difficulty.HARD)));
+
+        assertThat(results).extracting(RecipeUpsertResult::status).containsExactly(
+                UpsertStatus.DUPLICATE, UpsertStatus.UNCHANGED, UpsertStatus.UPDATED,
+                UpsertStatus.CONFLICT, UpsertStatus.CREATED);
+        assertThat(results.get(4).recipeId()).isNotNull();
+        assertThat(results.get(3).recipeId()).isNull();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM recipes WHERE title = 'Upsert new'", String.class))
+                .isEqualTo("Brand new, revised");
+        assertThat(jdbcTemplate.queryForObject("SELECT servings FROM recipes WHERE title = 'Upsert changed'", Integer.class))
+                .isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM recipes WHERE title = 'Upsert foreign'", String.class))
+                .isEqualTo("Someone else's");
+    }
+
+    @Test
+    void shouldNotRewriteRowsWhoseContentIsUnchanged() {
+        User partner = userRepository.save(new User("upsert-resend", "upsert-resend@example.com", "hash", null));
+        List<RecipeImportRow> catalogue = List.of(
+                new RecipeImportRow("Upsert resend one", "First", 5, 10, 2, Difficulty.EASY),
+                new RecipeImportRow("Upsert resend two", "Second", 15, 20, 4, Difficulty.MEDIUM));
+
+        assertThat(recipeBatchUpserter.upsert(partner.getId(), catalogue))
+                .extracting(RecipeUpsertResult::status)
+                .containsOnly(UpsertStatus.CREATED);
+        OffsetDateTime updatedAt = updatedAt("Upsert resend one");
+        String rowVersion = xmin("Upsert resend one");
+
+        assertThat(recipeBatchUpserter.upsert(partner.getId(), catalogue))
+                .extracting(RecipeUpsertResult::status)
+                .containsOnly(UpsertStatus.UNCHANGED);
+        assertThat(updatedAt("Upsert resend one")).isEqualTo(updatedAt);
+        assertThat(xmin("Upsert resend one")).isEqualTo(rowVersion);
+    }
+
+    private OffsetDateTime updatedAt(String title) {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM recipes WHERE title = ?", OffsetDateTime.class, title);
+    }
+
+    // xmin changes with every new row version, so an equal value proves the row was not rewritten
+    private String xmin(String title) {
+        return jdbcTemplate.queryForObject("SELECT xmin::text FROM recipes WHERE title = ?", String.class, title);
+    }
+}
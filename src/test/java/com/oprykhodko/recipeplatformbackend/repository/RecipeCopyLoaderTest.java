@@ -0,0 +1,77 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportRow;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+class RecipeCopyLoaderTest {
+
+    @Autowired
+    private RecipeCopyLoader recipeCopyLoader;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertNewTitlesAndUpdateExistingOnesOwnedByTheSameUser() {
+        User partner = userRepository.save(new User("copy-partner", "copy-partner@example.com", "hash", "Partner"));
+        User other = userRepository.save(new User("copy-other", "copy-other@example.com", "hash", "Other"));
+        recipeRepository.save(new Recipe("Copy existing", "Old description", 5, 5, 1, Difficulty.EASY, partner));
+        recipeRepository.save(new Recipe("Copy foreign", "Owned by someone else", 5, 5, 1, Difficulty.EASY, other));
+
+        RecipeCopyLoader.Result result = recipeCopyLoader.load(partner.getId(), source(List.of(
+                new RecipeImportRow("Copy new", "Line one\nline \"two\", with comma", 10, 20, 2, Difficulty.MEDIUM),
+                new RecipeImportRow("Copy existing", "New description", 15, 25, 3, Difficulty.HARD),
+                new RecipeImportRow("Copy foreign", "Hijack attempt", 1, 1, 1, Difficulty.EASY))));
+
+        assertThat(result.rowsCopied()).isEqualTo(3);
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(1);
+
+        assertThat(descriptionOf("Copy new")).isEqualTo("Line one\nline \"two\", with comma");
+        assertThat(descriptionOf("Copy existing")).isEqualTo("New description");
+        assertThat(descriptionOf("Copy foreign")).isEqualTo("Owned by someone else");
+    }
+
+    @Test
+    void shouldKeepLastOccurrenceOfDuplicatedTitle() {
+        User partner = userRepository.save(new User("copy-dupes", "copy-dupes@example.com", "hash", "Partner"));
+
+        RecipeCopyLoader.Result result = recipeCopyLoader.load(partner.getId(), source(List.of(
+                new RecipeImportRow("Copy duplicate", "First", 10, 20, 2, Difficulty.EASY),
+                new RecipeImportRow("Copy duplicate", "Second", 10, 20, 2, Difficulty.EASY))));
+
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(descriptionOf("Copy duplicate")).isEqualTo("Second");
+    }
+
+    private String descriptionOf(String title) {
+        return jdbcTemplate.queryForObject("SELECT description FROM recipes WHERE title = ?", String.class, title);
+    }
+
+    private static RecipeCopyLoader.RowSource source(List<RecipeImportRow> rows) {
+        Iterator<RecipeImportRow> iterator = rows.iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+}
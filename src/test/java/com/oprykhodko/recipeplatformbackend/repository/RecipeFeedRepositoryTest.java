@@ -0,0 +1,110 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+class RecipeFeedRepositoryTest {
+
+    @Autowired
+    private RecipeFeedRepository recipeFeedRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldMirrorRecipeInsertsUpdatesAndDeletes() {
+        User author = userRepository.save(new User("feed-author", "feed-author@example.com", "hash", "Feed Author"));
+        Recipe recipe = recipeRepository.save(
+                new Recipe("Feed lentil soup", "Red lentils", 10, 25, 4, Difficulty.EASY, author));
+
+        assertThat(feedItem(recipe.getId())).hasValueSatisfying(item -> {
+            assertThat(item.title()).isEqualTo("Feed lentil soup");
+            assertThat(item.totalTimeMinutes()).isEqualTo(35);
+            assertThat(item.authorUsername()).isEqualTo("feed-author");
+            assertThat(item.authorDisplayName()).isEqualTo("Feed Author");
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe managed = recipeRepository.findById(recipe.getId()).orElseThrow();
+            managed.setTitle("Feed spiced lentil soup");
+            managed.setCookTimeMinutes(40);
+        });
+        assertThat(feedItem(recipe.getId())).hasValueSatisfying(item -> {
+            assertThat(item.title()).isEqualTo("Feed spiced lentil soup");
+            assertThat(item.totalTimeMinutes()).isEqualTo(50);
+        });
+
+        recipeRepository.deleteById(recipe.getId());
+        assertThat(feedItem(recipe.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldRewriteAuthorColumnsWhenUserIsRenamed() {
+        User author = userRepository.save(new User("feed-renamed", "feed-renamed@example.com", "hash", null));
+        Recipe recipe = recipeRepository.save(
+                new Recipe("Feed flatbread", "Yeasted flatbread", 90, 10, 6, Difficulty.MEDIUM, author));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(author.getId()).orElseThrow();
+            managed.setUsername("feed-renamed-2");
+            managed.setDisplayName("Baker");
+        });
+
+        assertThat(feedItem(recipe.getId())).hasValueSatisfying(item -> {
+            assertThat(item.authorUsername()).isEqualTo("feed-renamed-2");
+            assertThat(item.authorDisplayName()).isEqualTo("Baker");
+        });
+    }
+
+    @Test
+    void shouldPageNewestFirstWithCursor() {
+        User author = userRepository.save(new User("feed-pager", "feed-pager@example.com", "hash", null));
+        for (int i = 0; i < 5; i++) {
+            recipeRepository.save(new Recipe("Feed page recipe " + i, "Paged", 5, 5, 1, Difficulty.EASY, author));
+        }
+
+        List<FeedItem> all = recipeFeedRepository.findFirstPage(PageRequest.ofSize(1000));
+        List<FeedItem> paged = new ArrayList<>();
+        List<FeedItem> page = recipeFeedRepository.findFirstPage(PageRequest.ofSize(2));
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            FeedItem last = page.getLast();
+            page = recipeFeedRepository.findAfter(last.createdAt(), last.recipeId(), PageRequest.ofSize(2));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(all);
+        assertThat(all).isSortedAccordingTo((a, b) -> {
+            int byCreatedAt = b.createdAt().compareTo(a.createdAt());
+            return byCreatedAt != 0 ? byCreatedAt : b.recipeId().compareTo(a.recipeId());
+        });
+    }
+
+    private Optional<FeedItem> feedItem(Long recipeId) {
+        return recipeFeedRepository.findFirstPage(PageRequest.ofSize(1000)).stream()
+                .filter(item -> item.recipeId().equals(recipeId))
+                .findFirst();
+    }
+}
@@ -0,0 +1,101 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares entity hydration via findAllWithUsers() with the RecipeSummary projection over the same rows.
+// Excluded from the default test task; run with ./gradlew benchmarkTest
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecipeReadBenchmarkTest {
+
+    private static final int USERS = 50;
+    private static final int RECIPES_PER_USER = 100;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeAll
+    void seed() {
+        for (int u = 0; u < USERS; u++) {
+            Long userId = jdbcTemplate.queryForObject(
+                    "INSERT INTO users (username, email, password_hash, display_name) VALUES (?, ?, ?, ?) RETURNING id",
+                    Long.class, "bench-user-" + u, "bench-" + u + "@example.com", "x".repeat(60), "Bench User " + u);
+            List<Object[]> rows = new ArrayList<>(RECIPES_PER_USER);
+            for (int r = 0; r < RECIPES_PER_USER; r++) {
+                rows.add(new Object[]{"bench-recipe-" + u + "-" + r, "d".repeat(800), 10, 20, 4, "MEDIUM", userId});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO recipes (title, description, prep_time_minutes, cook_time_minutes, servings, difficulty, user_id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-user-%'");
+    }
+
+    @Test
+    void projectionShouldAllocateLessThanEntityHydration() {
+        int rows = Math.toIntExact(recipeRepository.count());
+
+        Measurement entities = measure(() -> recipeRepository.findAllWithUsers());
+        Measurement summaries = measure(() -> recipeRepository.findSummaries(null, null, null, rows));
+
+        long entityBytesPerRow = entities.allocatedBytes() / rows;
+        long summaryBytesPerRow = summaries.allocatedBytes() / rows;
+        assertThat(summaryBytesPerRow)
+                .as("bytes allocated per row: findSummaries() %d (%.2f ms) vs findAllWithUsers() %d (%.2f ms) over %d rows",
+                        summaryBytesPerRow, summaries.millis(), entityBytesPerRow, entities.millis(), rows)
+                .isLessThan(entityBytesPerRow);
+    }
+
+    private Measurement measure(Supplier<List<?>> query) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            query.get();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocated = 0;
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            List<?> result = query.get();
+            elapsed += System.nanoTime() - start;
+            allocated += threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+            assertThat(result).isNotEmpty();
+        }
+        return new Measurement(allocated / MEASURED_ROUNDS, elapsed / 1_000_000.0 / MEASURED_ROUNDS);
+    }
+
+    private record Measurement(long allocatedBytes, double millis) {
+    }
+}
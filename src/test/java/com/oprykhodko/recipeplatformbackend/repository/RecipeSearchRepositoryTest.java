@@ -0,0 +1,74 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSearchHit;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecipeSearchRepositoryTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    void seed() {
+        User author = userRepository.save(new User("search-author", "search-author@example.com", "hash", "Searcher"));
+        recipeRepository.saveAll(List.of(
+                new Recipe("Roasted garlic soup", "Creamy soup with roasted garlic", 10, 40, 4, Difficulty.MEDIUM, author),
+                new Recipe("Tomato pasta", "Quick pasta finished with a little garlic", 5, 10, 2, Difficulty.EASY, author),
+                new Recipe("Garlic bread", "Crusty bread", 5, 15, 6, Difficulty.EASY, author),
+                new Recipe("Beef stew", "Slow cooked stew", 20, 180, 6, Difficulty.HARD, author)));
+    }
+
+    @Test
+    void shouldRankTitleMatchesAboveDescriptionMatches() {
+        List<RecipeSearchHit> hits = recipeRepository.search("garlic", null, null, null, 10);
+
+        assertThat(hits).extracting(hit -> hit.recipe().title())
+                .containsExactlyInAnyOrder("Roasted garlic soup", "Tomato pasta", "Garlic bread");
+        assertThat(hits.getLast().recipe().title()).isEqualTo("Tomato pasta");
+        assertThat(hits.getFirst().recipe().authorUsername()).isEqualTo("search-author");
+    }
+
+    @Test
+    void shouldApplyDifficultyAndTotalTimeFilters() {
+        assertThat(recipeRepository.search("garlic", Difficulty.EASY, null, null, 10))
+                .extracting(hit -> hit.recipe().title())
+                .containsExactlyInAnyOrder("Tomato pasta", "Garlic bread");
+
+        assertThat(recipeRepository.search("garlic", null, 15, null, 10))
+                .extracting(hit -> hit.recipe().title())
+                .containsExactly("Tomato pasta");
+    }
+
+    @Test
+    void shouldPageThroughHitsWithCursor() {
+        List<String> titles = new ArrayList<>();
+        List<RecipeSearchHit> page = recipeRepository.search("garlic", null, null, null, 1);
+        while (!page.isEmpty()) {
+            titles.add(page.getFirst().recipe().title());
+            page = recipeRepository.search("garlic", null, null, page.getFirst().cursor(), 1);
+        }
+
+        assertThat(titles).containsExactlyElementsOf(
+                recipeRepository.search("garlic", null, null, null, 10).stream().map(hit -> hit.recipe().title()).toList());
+    }
+}
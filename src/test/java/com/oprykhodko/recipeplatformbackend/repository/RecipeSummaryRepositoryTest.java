@@ -0,0 +1,90 @@
+package com.oprykhodko.recipeplatformbackend.repository;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecipeSummaryRepositoryTest {
+
+    // Older than anything the other tests insert, so these rows sort last
+    private static final OffsetDateTime SHARED_CREATED_AT = OffsetDateTime.of(2000, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long authorId;
+
+    @BeforeAll
+    void seed() {
+        authorId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password_hash) VALUES (?, ?, ?) RETURNING id",
+                Long.class, "summary-pager", "summary-pager@example.com", "hash");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Difficulty difficulty = i % 2 == 0 ? Difficulty.EASY : Difficulty.HARD;
+            rows.add(new Object[]{"Summary tie " + i, 5, 10, 2, difficulty.name(), authorId, SHARED_CREATED_AT});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO recipes (title, prep_time_minutes, cook_time_minutes, servings, difficulty, user_id, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void shouldPageAcrossEqualCreatedAtValues() {
+        List<RecipeSummary> paged = pageThrough(null, authorId);
+
+        assertThat(paged).hasSize(7).allSatisfy(summary -> assertThat(summary.createdAt()).isEqualTo(SHARED_CREATED_AT));
+        // Ties on created_at are broken by id, so no row is skipped or repeated at a page boundary
+        assertThat(paged).extracting(RecipeSummary::id).isSortedAccordingTo((a, b) -> b.compareTo(a)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldApplyEachFilterCombinationWhilePaging() {
+        assertThat(pageThrough(Difficulty.EASY, authorId))
+                .extracting(RecipeSummary::title)
+                .containsExactly("Summary tie 6", "Summary tie 4", "Summary tie 2", "Summary tie 0");
+
+        List<RecipeSummary> hard = pageThrough(Difficulty.HARD, null);
+        assertThat(hard).extracting(RecipeSummary::difficulty).containsOnly(Difficulty.HARD);
+        assertThat(hard).filteredOn(summary -> summary.authorId().equals(authorId))
+                .extracting(RecipeSummary::title)
+                .containsExactly("Summary tie 5", "Summary tie 3", "Summary tie 1");
+
+        List<RecipeSummary> all = pageThrough(null, null);
+        assertThat(all).isSortedAccordingTo((a, b) -> {
+            int byCreatedAt = b.createdAt().compareTo(a.createdAt());
+            return byCreatedAt != 0 ? byCreatedAt : b.id().compareTo(a.id());
+        });
+        assertThat(all.subList(all.size() - 7, all.size())).extracting(RecipeSummary::authorId).containsOnly(authorId);
+    }
+
+    private List<RecipeSummary> pageThrough(Difficulty difficulty, Long userId) {
+        List<RecipeSummary> paged = new ArrayList<>();
+        List<RecipeSummary> page = recipeRepository.findSummaries(difficulty, userId, null, 2);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            page = recipeRepository.findSummaries(difficulty, userId, page.getLast().cursor(), 2);
+        }
+        return paged;
+    }
+}
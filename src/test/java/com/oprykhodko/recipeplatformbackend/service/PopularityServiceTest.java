@@ -0,0 +1,97 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.PopularRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "recipes.popularity.flush-interval=1h",
+        "recipes.popularity.ranking-refresh-interval=1h"
+})
+@Import(TestDatabaseConfiguration.class)
+class PopularityServiceTest {
+
+    @Autowired
+    private PopularityService popularityService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldFlushConcurrentViewsAsAggregatedDeltas() throws Exception {
+        User author = userRepository.save(new User("popular-concurrent", "popular-concurrent@example.com", "hash", null));
+        Recipe recipe = recipeRepository.save(new Recipe("Popular pancakes", "Fluffy", 5, 10, 2, Difficulty.EASY, author));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> viewers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                viewers.add(executor.submit(() -> {
+                    for (int view = 0; view < 500; view++) {
+                        popularityService.recordView(recipe.getId());
+                    }
+                }));
+            }
+            for (Future<?> viewer : viewers) {
+                viewer.get();
+            }
+        }
+        popularityService.flush();
+        popularityService.recordView(recipe.getId());
+        popularityService.flush();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT view_count FROM recipe_popularity WHERE recipe_id = ?", Long.class, recipe.getId()))
+                .isEqualTo(4001);
+    }
+
+    @Test
+    void shouldRankMostViewedRecipesPerDifficulty() {
+        User author = userRepository.save(new User("popular-ranking", "popular-ranking@example.com", "hash", null));
+        Recipe stew = recipeRepository.save(new Recipe("Popular stew", "Slow", 20, 180, 6, Difficulty.HARD, author));
+        Recipe pie = recipeRepository.save(new Recipe("Popular pie", "Flaky", 30, 60, 8, Difficulty.HARD, author));
+        Recipe toast = recipeRepository.save(new Recipe("Popular toast", "Crisp", 1, 3, 1, Difficulty.EASY, author));
+        views(stew, 3);
+        views(pie, 7);
+        views(toast, 20);
+        popularityService.flush();
+        popularityService.refreshRanking();
+
+        assertThat(popularityService.findPopular(Difficulty.HARD, 10))
+                .extracting(PopularRecipe::title)
+                .containsSubsequence("Popular pie", "Popular stew")
+                .doesNotContain("Popular toast");
+        assertThat(popularityService.findPopular(Difficulty.HARD, 10).getFirst().views()).isEqualTo(7);
+        assertThat(popularityService.findPopular(null, 50))
+                .extracting(PopularRecipe::title)
+                .containsSubsequence("Popular toast", "Popular pie", "Popular stew");
+    }
+
+    private void views(Recipe recipe, int count) {
+        for (int i = 0; i < count; i++) {
+            popularityService.recordView(recipe.getId());
+        }
+    }
+}
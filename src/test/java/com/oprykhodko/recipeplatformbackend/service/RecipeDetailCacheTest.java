@@ -0,0 +1,113 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.config.CacheConfig;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeDetail;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestDatabaseConfiguration.class)
+class RecipeDetailCacheTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RecipeDetailCacheInvalidator recipeDetailCacheInvalidator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long authorId;
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        User author = userRepository.save(new User("cache-" + suffix, "cache-" + suffix + "@example.com", "hash", "Cache Author"));
+        authorId = author.getId();
+        recipeId = recipeRepository.save(new Recipe("Cached recipe " + suffix, "Description", 10, 20, 2, Difficulty.EASY, author)).getId();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        RecipeDetail first = recipeService.findRecipeDetail(recipeId).orElseThrow();
+
+        assertThat(recipeDetails().get(recipeId, RecipeDetail.class)).isEqualTo(first);
+        assertThat(recipeService.findRecipeDetail(recipeId)).containsSame(first);
+    }
+
+    @Test
+    void shouldEvictEntryWhenRecipeIsUpdated() {
+        recipeService.findRecipeDetail(recipeId);
+
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.findById(recipeId).orElseThrow().setServings(8));
+
+        assertThat(recipeDetails().get(recipeId)).isNull();
+        assertThat(recipeService.findRecipeDetail(recipeId)).get().extracting(RecipeDetail::servings).isEqualTo(8);
+    }
+
+    @Test
+    void shouldEvictEntryWhenRecipeIsDeleted() {
+        recipeService.findRecipeDetail(recipeId);
+
+        recipeRepository.deleteById(recipeId);
+
+        assertThat(recipeDetails().get(recipeId)).isNull();
+        assertThat(recipeService.findRecipeDetail(recipeId)).isEmpty();
+    }
+
+    @Test
+    void shouldEvictAuthorsEntriesWhenUsernameChanges() {
+        recipeService.findRecipeDetail(recipeId);
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(authorId).orElseThrow().setUsername("renamed-" + authorId));
+
+        assertThat(recipeDetails().get(recipeId)).isNull();
+        assertThat(recipeService.findRecipeDetail(recipeId)).get()
+                .extracting(RecipeDetail::authorUsername).isEqualTo("renamed-" + authorId);
+    }
+
+    @Test
+    void shouldDropADetailReadBeforeAnUpdateAndPutAfterItsEviction() {
+        long generation = recipeDetailCacheInvalidator.generation(recipeId);
+        RecipeDetail readBeforeUpdate = recipeRepository.findByIdWithUser(recipeId).map(RecipeDetail::from).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status ->
+                recipeRepository.findById(recipeId).orElseThrow().setServings(8));
+        recipeDetailCacheInvalidator.putIfCurrent(recipeId, readBeforeUpdate, generation);
+
+        assertThat(recipeDetails().get(recipeId)).isNull();
+        assertThat(recipeService.findRecipeDetail(recipeId)).get().extracting(RecipeDetail::servings).isEqualTo(8);
+        assertThat(recipeDetails().get(recipeId, RecipeDetail.class)).extracting(RecipeDetail::servings).isEqualTo(8);
+    }
+
+    private Cache recipeDetails() {
+        return cacheManager.getCache(CacheConfig.RECIPE_DETAILS);
+    }
+}
@@ -0,0 +1,145 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.FeedItem;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeBrowsePage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeFacetCounts;
+import com.oprykhodko.recipeplatformbackend.dto.ServingsRange;
+import com.oprykhodko.recipeplatformbackend.dto.TotalTimeBucket;
+import com.oprykhodko.recipeplatformbackend.dto.UserRecipeStats;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.event.RecipeFacetsChangedEvent;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "recipes.facets.reconcile-interval=1h")
+@Import(TestDatabaseConfiguration.class)
+class RecipeFacetCounterTest {
+
+    @Autowired
+    private RecipeFacetCounter recipeFacetCounter;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        author = userRepository.save(new User("facets-" + suffix, "facets-" + suffix + "@example.com", "hash", null));
+        recipeFacetCounter.reconcile();
+    }
+
+    @Test
+    void shouldFollowCreatesUpdatesAndDeletesWithoutQueryingCounts() {
+        RecipeFacetCounts before = recipeFacetCounter.facets(null, null, null);
+
+        Recipe quick = recipeRepository.save(new Recipe("Facet quick " + author.getId(), "Quick", 5, 10, 2, Difficulty.EASY, author));
+        Recipe slow = recipeRepository.save(new Recipe("Facet slow " + author.getId(), "Slow", 30, 60, 8, Difficulty.HARD, author));
+
+        RecipeFacetCounts created = recipeFacetCounter.facets(null, null, null);
+        assertThat(created.total()).isEqualTo(before.total() + 2);
+        assertThat(created.difficulty().get(Difficulty.EASY)).isEqualTo(before.difficulty().get(Difficulty.EASY) + 1);
+        assertThat(created.totalTime().get(TotalTimeBucket.UP_TO_15)).isEqualTo(before.totalTime().get(TotalTimeBucket.UP_TO_15) + 1);
+        assertThat(created.servings().get(ServingsRange.SEVEN_OR_MORE)).isEqualTo(before.servings().get(ServingsRange.SEVEN_OR_MORE) + 1);
+        assertThat(recipeFacetCounter.userStats(author.getId())).isEqualTo(new UserRecipeStats(author.getId(), 2, 52.5));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(quick.getId()).orElseThrow();
+            recipe.setDifficulty(Difficulty.MEDIUM);
+            recipe.setCookTimeMinutes(25);
+        });
+        RecipeFacetCounts updated = recipeFacetCounter.facets(null, null, null);
+        assertThat(updated.total()).isEqualTo(created.total());
+        assertThat(updated.difficulty().get(Difficulty.EASY)).isEqualTo(before.difficulty().get(Difficulty.EASY));
+        assertThat(updated.difficulty().get(Difficulty.MEDIUM)).isEqualTo(created.difficulty().get(Difficulty.MEDIUM) + 1);
+        assertThat(updated.totalTime().get(TotalTimeBucket.UP_TO_30)).isEqualTo(created.totalTime().get(TotalTimeBucket.UP_TO_30) + 1);
+        assertThat(recipeFacetCounter.userStats(author.getId())).isEqualTo(new UserRecipeStats(author.getId(), 2, 60.0));
+
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.deleteById(slow.getId()));
+        RecipeFacetCounts deleted = recipeFacetCounter.facets(null, null, null);
+        assertThat(deleted.total()).isEqualTo(before.total() + 1);
+        assertThat(deleted.difficulty().get(Difficulty.HARD)).isEqualTo(before.difficulty().get(Difficulty.HARD));
+        assertThat(recipeFacetCounter.userStats(author.getId())).isEqualTo(new UserRecipeStats(author.getId(), 1, 30.0));
+
+        // Reconciling against the database finds nothing to correct
+        recipeFacetCounter.reconcile();
+        assertThat(recipeFacetCounter.facets(null, null, null)).isEqualTo(deleted);
+        assertThat(recipeFacetCounter.userStats(author.getId())).isEqualTo(new UserRecipeStats(author.getId(), 1, 30.0));
+    }
+
+    @Test
+    void shouldCountOtherFacetsUnderTheSelectedFilters() {
+        recipeRepository.save(new Recipe("Facet browse " + author.getId(), "Browse", 10, 40, 4, Difficulty.HARD, author));
+
+        RecipeBrowsePage page = feedService.browse(Difficulty.HARD, TotalTimeBucket.UP_TO_60, ServingsRange.THREE_TO_FOUR, null, 100);
+        assertThat(page.items()).isNotEmpty().allSatisfy(item -> {
+            assertThat(item.difficulty()).isEqualTo(Difficulty.HARD);
+            assertThat(item.totalTimeMinutes()).isBetween(31, 60);
+            assertThat(item.servings()).isBetween(3, 4);
+        });
+        RecipeFacetCounts facets = page.facets();
+        assertThat(facets.total()).isGreaterThanOrEqualTo(page.items().size());
+        // Each facet ignores its own filter, so the selected value's count equals the total
+        assertThat(facets.difficulty().get(Difficulty.HARD)).isEqualTo(facets.total());
+        assertThat(facets.totalTime().get(TotalTimeBucket.UP_TO_60)).isEqualTo(facets.total());
+        assertThat(facets.servings().get(ServingsRange.THREE_TO_FOUR)).isEqualTo(facets.total());
+        assertThat(facets.difficulty().values().stream().mapToLong(Long::longValue).sum()).isGreaterThanOrEqualTo(facets.total());
+    }
+
+    @Test
+    void shouldKeepMissingTimesAndServingsInTheirOwnBuckets() {
+        RecipeFacetCounts before = recipeFacetCounter.facets(null, null, null);
+        // Only rows written around the entity constraints, such as legacy data, lack these values
+        Long recipeId = jdbcTemplate.queryForObject("""
+                INSERT INTO recipes (title, prep_time_minutes, cook_time_minutes, servings, difficulty, user_id)
+                VALUES (?, 5, NULL, 0, 'EASY', ?) RETURNING id
+                """, Long.class, "Facet unknown " + author.getId(), author.getId());
+        recipeFacetCounter.reconcile();
+
+        RecipeFacetCounts after = recipeFacetCounter.facets(null, null, null);
+        assertThat(after.servings().get(ServingsRange.UNKNOWN)).isEqualTo(before.servings().get(ServingsRange.UNKNOWN) + 1);
+        assertThat(after.servings().get(ServingsRange.ONE_TO_TWO)).isEqualTo(before.servings().get(ServingsRange.ONE_TO_TWO));
+        assertThat(after.totalTime().get(TotalTimeBucket.UNKNOWN)).isEqualTo(before.totalTime().get(TotalTimeBucket.UNKNOWN) + 1);
+        assertThat(after.totalTime().get(TotalTimeBucket.UP_TO_15)).isEqualTo(before.totalTime().get(TotalTimeBucket.UP_TO_15));
+        assertThat(RecipeFacetsChangedEvent.Facets.of(recipeRepository.findById(recipeId).orElseThrow()))
+                .isEqualTo(new RecipeFacetsChangedEvent.Facets(author.getId(), Difficulty.EASY, null, 0));
+
+        assertThat(feedService.browse(null, TotalTimeBucket.UNKNOWN, ServingsRange.UNKNOWN, null, 100).items())
+                .extracting(FeedItem::recipeId)
+                .contains(recipeId);
+        assertThat(feedService.browse(null, TotalTimeBucket.UP_TO_15, null, null, 100).items())
+                .extracting(FeedItem::recipeId)
+                .doesNotContain(recipeId);
+        assertThat(feedService.browse(null, null, ServingsRange.ONE_TO_TWO, null, 100).items())
+                .extracting(FeedItem::recipeId)
+                .doesNotContain(recipeId);
+
+        jdbcTemplate.update("DELETE FROM recipes WHERE id = ?", recipeId);
+        recipeFacetCounter.reconcile();
+    }
+}
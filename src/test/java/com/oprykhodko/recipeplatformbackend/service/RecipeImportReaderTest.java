@@ -0,0 +1,68 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oprykhodko.recipeplatformbackend.dto.ImportFormat;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.service.RecipeImportReader.ParsedRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldReadNdjsonRowsAndReportBrokenLines() throws IOException {
+        String body = """
+                {"title":"Pasta","description":"Tasty","prepTimeMinutes":10,"cookTimeMinutes":20,"servings":2,"difficulty":"EASY"}
+
+                {"title":"Broken",
+                {"title":"Soup","description":"Warm","prepTimeMinutes":5,"cookTimeMinutes":30,"servings":4,"difficulty":"MEDIUM"}
+                """;
+
+        List<ParsedRow> rows = readAll(body, ImportFormat.NDJSON);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).row().title()).isEqualTo("Pasta");
+        assertThat(rows.get(1).rowNumber()).isEqualTo(3);
+        assertThat(rows.get(1).error()).startsWith("Invalid JSON");
+        assertThat(rows.get(2).row().difficulty()).isEqualTo(Difficulty.MEDIUM);
+    }
+
+    @Test
+    void shouldReadCsvRowsAndContinuePastBadValues() throws IOException {
+        String body = """
+                title,description,prepTimeMinutes,cookTimeMinutes,servings,difficulty
+                Pasta,Tasty,10,20,2,EASY
+                Soup,Warm,five,30,4,MEDIUM
+                "Pie, apple",Sweet,15,45,8,HARD
+                """;
+
+        List<ParsedRow> rows = readAll(body, ImportFormat.CSV);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).row().servings()).isEqualTo(2);
+        assertThat(rows.get(1).error()).startsWith("Invalid CSV row");
+        assertThat(rows.get(2).row().title()).isEqualTo("Pie, apple");
+        assertThat(rows.get(2).rowNumber()).isEqualTo(3);
+    }
+
+    private List<ParsedRow> readAll(String body, ImportFormat format) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        try (RecipeImportReader reader = RecipeImportReader.open(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, objectMapper)) {
+            ParsedRow row;
+            while ((row = reader.nextRow()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
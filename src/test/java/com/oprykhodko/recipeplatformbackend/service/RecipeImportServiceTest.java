@@ -0,0 +1,86 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.ImportFormat;
+import com.oprykhodko.recipeplatformbackend.dto.ImportMode;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeImportReport;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "recipes.import.chunk-size=3")
+@Import(TestDatabaseConfiguration.class)
+class RecipeImportServiceTest {
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCommitEachChunkAndIsolateTheBadRowOfAFailedOne() throws Exception {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        User owner = userRepository.save(new User("chunk-owner-" + suffix, "chunk-owner-" + suffix + "@example.com", "hash", null));
+        User importer = userRepository.save(new User("chunk-importer-" + suffix, "chunk-importer-" + suffix + "@example.com", "hash", null));
+        String takenTitle = "Chunk taken " + suffix;
+        recipeRepository.save(new Recipe(takenTitle, "Already here", 5, 5, 2, Difficulty.EASY, owner));
+
+        // Chunks of three valid rows: [1, 2, 3], [4, 5, 6] and [8, 9, 10]. Row 5 reuses a taken title, so its
+        // chunk fails at flush and is retried row by row; row 7 fails validation and never reaches a chunk.
+        String body = IntStream.rangeClosed(1, 10)
+                .mapToObj(row -> switch (row) {
+                    case 5 -> line(takenTitle, 2);
+                    case 7 -> line("Chunk row " + suffix + " 7", 0);
+                    default -> line("Chunk row " + suffix + " " + row, 2);
+                })
+                .collect(Collectors.joining("\n"));
+
+        RecipeImportReport report = recipeImportService.importRecipes(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON, ImportMode.JPA,
+                importer.getId());
+
+        assertThat(report.rowsRead()).isEqualTo(10);
+        assertThat(report.rowsImported()).isEqualTo(8);
+        assertThat(report.rowsFailed()).isEqualTo(2);
+        assertThat(report.errors()).extracting(RecipeImportReport.RowError::row).containsExactlyInAnyOrder(5L, 7L);
+        assertThat(report.errors()).filteredOn(error -> error.row() == 7L).singleElement()
+                .satisfies(error -> assertThat(error.message()).contains("servings"));
+
+        List<String> imported = jdbcTemplate.queryForList(
+                "SELECT title FROM recipes WHERE user_id = ? ORDER BY id", String.class, importer.getId());
+        assertThat(imported).containsExactly(
+                "Chunk row " + suffix + " 1", "Chunk row " + suffix + " 2", "Chunk row " + suffix + " 3",
+                "Chunk row " + suffix + " 4", "Chunk row " + suffix + " 6",
+                "Chunk row " + suffix + " 8", "Chunk row " + suffix + " 9", "Chunk row " + suffix + " 10");
+        assertThat(jdbcTemplate.queryForObject("SELECT user_id FROM recipes WHERE title = ?", Long.class, takenTitle))
+                .isEqualTo(owner.getId());
+    }
+
+    private static String line(String title, int servings) {
+        return """
+                {"title":"%s","description":"Imported","prepTimeMinutes":5,"cookTimeMinutes":10,"servings":%d,"difficulty":"EASY"}"""
+                .formatted(title, servings);
+    }
+}
@@ -0,0 +1,138 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.IngredientMatchMode;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeIngredientMatch;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.exception.PreconditionFailedException;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "recipes.ingredient-index.rebuild-interval=1h")
+@Import(TestDatabaseConfiguration.class)
+class RecipeIngredientServiceTest {
+
+    @Autowired
+    private RecipeIngredientService recipeIngredientService;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Ingredient names are global, so each test uses its own
+    private String suffix;
+    private Recipe pasta;
+    private Recipe bruschetta;
+    private Recipe pizza;
+
+    @BeforeEach
+    void createRecipes() {
+        suffix = "-" + System.nanoTime();
+        User author = userRepository.save(new User("cook" + suffix, "cook" + suffix + "@example.com", "hash", null));
+        pasta = recipeRepository.save(new Recipe("Pasta" + suffix, "Boil and toss", 5, 10, 2, Difficulty.EASY, author));
+        bruschetta = recipeRepository.save(new Recipe("Bruschetta" + suffix, "Toast and top", 5, 5, 4, Difficulty.EASY, author));
+        pizza = recipeRepository.save(new Recipe("Pizza" + suffix, "Stretch and bake", 30, 15, 2, Difficulty.MEDIUM, author));
+
+        replace(pasta, "Tomato", "basil", "garlic", "pasta");
+        replace(bruschetta, "tomato", " Garlic ", "bread");
+        replace(pizza, "tomato", "basil", "mozzarella", "dough", "olive oil");
+    }
+
+    @Test
+    void shouldFindRecipesUsingAllIngredientsRankedByFewestMissing() {
+        List<RecipeIngredientMatch> matches = find(IngredientMatchMode.ALL, "tomato", "garlic");
+
+        assertThat(matches).extracting(RecipeIngredientMatch::recipeId)
+                .containsExactly(bruschetta.getId(), pasta.getId());
+        assertThat(matches.get(0).missingIngredients()).containsExactly(name("bread"));
+        assertThat(matches.get(1).missingIngredients()).containsExactly(name("basil"), name("pasta"));
+        assertThat(matches.get(1).matchedIngredients()).isEqualTo(2);
+        assertThat(matches.get(1).title()).isEqualTo(pasta.getTitle());
+
+        assertThat(find(IngredientMatchMode.ALL, "tomato", "saffron")).isEmpty();
+    }
+
+    @Test
+    void shouldFindRecipesUsingAnyIngredient() {
+        List<RecipeIngredientMatch> matches = find(IngredientMatchMode.ANY, "basil", "bread", "saffron");
+
+        // bruschetta misses 2, pasta 3 and pizza 4
+        assertThat(matches).extracting(RecipeIngredientMatch::recipeId)
+                .containsExactly(bruschetta.getId(), pasta.getId(), pizza.getId());
+    }
+
+    @Test
+    void shouldFollowIngredientChangesAndDeletions() {
+        RecipeIngredientService.UpdatedIngredients updated = replace(pasta, "pasta", "olive oil");
+        assertThat(updated.ingredients()).containsExactly(name("olive oil"), name("pasta"));
+        assertThat(recipeIngredientService.findIngredients(pasta.getId()))
+                .containsExactly(name("olive oil"), name("pasta"));
+        assertThat(find(IngredientMatchMode.ALL, "tomato", "garlic")).extracting(RecipeIngredientMatch::recipeId)
+                .containsExactly(bruschetta.getId());
+
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.deleteById(pizza.getId()));
+        assertThat(find(IngredientMatchMode.ANY, "mozzarella", "dough")).isEmpty();
+        assertThat(find(IngredientMatchMode.ANY, "olive oil")).extracting(RecipeIngredientMatch::recipeId)
+                .containsExactly(pasta.getId());
+    }
+
+    @Test
+    void shouldMatchIncrementalStateAfterRebuild() {
+        List<RecipeIngredientMatch> incremental = find(IngredientMatchMode.ANY, "tomato");
+
+        ingredientIndex.rebuild();
+
+        assertThat(find(IngredientMatchMode.ANY, "tomato")).isEqualTo(incremental);
+        assertThat(ingredientIndex.indexedRecipes()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldBumpRecipeVersionAndHonourIfMatch() {
+        long before = recipeRepository.findById(pasta.getId()).orElseThrow().getVersion();
+        RecipeVersion after = replace(pasta, "pasta").version();
+
+        assertThat(after.recipeVersion()).isGreaterThan(before);
+        assertThatThrownBy(() -> recipeIngredientService.replaceIngredients(pasta.getId(), "\"stale\"", List.of(name("basil"))))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(recipeIngredientService.replaceIngredients(pasta.getId(), after.eTag(), List.of(name("basil")))
+                .ingredients()).containsExactly(name("basil"));
+    }
+
+    private RecipeIngredientService.UpdatedIngredients replace(Recipe recipe, String... ingredients) {
+        return recipeIngredientService.replaceIngredients(recipe.getId(), null,
+                Arrays.stream(ingredients).map(this::name).toList());
+    }
+
+    private List<RecipeIngredientMatch> find(IngredientMatchMode mode, String... ingredients) {
+        return recipeIngredientService.findByIngredients(
+                Arrays.stream(ingredients).map(this::name).toList(), mode, 10);
+    }
+
+    private String name(String ingredient) {
+        return ingredient.strip().toLowerCase(Locale.ROOT) + suffix;
+    }
+}
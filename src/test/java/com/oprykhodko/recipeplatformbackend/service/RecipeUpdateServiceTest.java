@@ -0,0 +1,123 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.RecipePatch;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeVersion;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.exception.PreconditionFailedException;
+import com.oprykhodko.recipeplatformbackend.metrics.QueryTrace;
+import com.oprykhodko.recipeplatformbackend.metrics.QueryTracer;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "recipes.optimistic-retry.max-attempts=100",
+        "recipes.optimistic-retry.max-backoff=20ms",
+        "recipes.query-tracing.sample-rate=1.0"
+})
+@Import(TestDatabaseConfiguration.class)
+class RecipeUpdateServiceTest {
+
+    private static final int WRITERS = 16;
+    private static final int UPDATES_PER_WRITER = 10;
+
+    @Autowired
+    private RecipeUpdateService recipeUpdateService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryTracer queryTracer;
+
+    @Test
+    void shouldNotLoseUpdatesUnderContention() throws Exception {
+        // servings is used as a counter: every writer reads it, adds one and writes it back
+        Recipe recipe = recipeRepository.save(new Recipe("Contended chili", "Hot", 10, 60, 1, Difficulty.MEDIUM, author("contended")));
+
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int update = 0; update < UPDATES_PER_WRITER; update++) {
+                        recipeUpdateService.update(recipe.getId(), null,
+                                managed -> managed.setServings(managed.getServings() + 1));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT servings FROM recipes WHERE id = ?", Integer.class, recipe.getId()))
+                .isEqualTo(1 + WRITERS * UPDATES_PER_WRITER);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM recipes WHERE id = ?", Long.class, recipe.getId()))
+                .isEqualTo((long) WRITERS * UPDATES_PER_WRITER);
+    }
+
+    @Test
+    void shouldOnlyWritePatchedColumns() {
+        Recipe recipe = recipeRepository.save(new Recipe("Patched flatbread", "Soft", 90, 10, 6, Difficulty.EASY, author("patched")));
+        queryTracer.clear();
+
+        recipeUpdateService.patch(recipe.getId(), null, new RecipePatch(null, null, null, null, 8, null));
+
+        List<String> updates = queryTracer.report().recent().stream()
+                .map(QueryTrace::shape)
+                .map(shape -> shape.toLowerCase(Locale.ROOT))
+                .filter(shape -> shape.startsWith("update recipes"))
+                .toList();
+        assertThat(updates).singleElement().satisfies(update -> {
+            assertThat(update).contains("servings", "version");
+            assertThat(update).doesNotContain("description", "title", "prep_time_minutes");
+        });
+    }
+
+    @Test
+    void shouldRejectStaleIfMatch() {
+        Recipe recipe = recipeRepository.save(new Recipe("Versioned salad", "Crisp", 10, 0, 2, Difficulty.EASY, author("versioned")));
+        RecipeVersion original = recipeUpdateService.patch(recipe.getId(), null,
+                new RecipePatch(null, "Crisp and green", null, null, null, null)).version();
+
+        RecipeVersion current = recipeUpdateService.patch(recipe.getId(), original.eTag(),
+                new RecipePatch(null, null, null, null, 3, null)).version();
+
+        assertThat(current.recipeVersion()).isEqualTo(original.recipeVersion() + 1);
+        assertThatThrownBy(() -> recipeUpdateService.patch(recipe.getId(), original.eTag(),
+                new RecipePatch(null, null, null, null, 4, null)))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    private User author(String name) {
+        return userRepository.save(new User("update-" + name, "update-" + name + "@example.com", "hash", null));
+    }
+}
@@ -0,0 +1,71 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeViewCounterTest {
+
+    @Test
+    void shouldConserveViewsWhenDrainingConcurrentlyWithIncrements() throws Exception {
+        RecipeViewCounter counter = new RecipeViewCounter();
+        int threads = 8;
+        int viewsPerThread = 200_000;
+        // Many recipes with few views each, so counts keep going idle and being dropped mid-run
+        int recipes = 5_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean incrementing = new AtomicBoolean(true);
+        Map<Long, Long> expected = new HashMap<>();
+        Map<Long, Long> drained = new HashMap<>();
+        try {
+            Future<?> drainer = executor.submit(() -> {
+                start.await();
+                while (incrementing.get()) {
+                    counter.drain().forEach((id, views) -> drained.merge(id, views, Long::sum));
+                }
+                return null;
+            });
+            List<Future<Map<Long, Long>>> incrementers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                incrementers.add(executor.submit(() -> {
+                    Map<Long, Long> viewed = new HashMap<>();
+                    start.await();
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        long recipeId = ThreadLocalRandom.current().nextInt(recipes);
+                        counter.increment(recipeId);
+                        viewed.merge(recipeId, 1L, Long::sum);
+                    }
+                    return viewed;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Map<Long, Long>> incrementer : incrementers) {
+                incrementer.get(30, TimeUnit.SECONDS).forEach((id, views) -> expected.merge(id, views, Long::sum));
+            }
+            incrementing.set(false);
+            drainer.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        counter.drain().forEach((id, views) -> drained.merge(id, views, Long::sum));
+
+        assertThat(drained.values().stream().mapToLong(Long::longValue).sum()).isEqualTo((long) threads * viewsPerThread);
+        assertThat(drained).isEqualTo(expected);
+        assertThat(counter.pendingViews()).isZero();
+    }
+}
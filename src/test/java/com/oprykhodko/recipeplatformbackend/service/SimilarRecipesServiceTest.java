@@ -0,0 +1,104 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.SimilarRecipe;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "recipes.similar.refresh-interval=1h",
+        "recipes.similar.rebuild-interval=1h",
+        "recipes.similar.parallelism=4"
+})
+@Import(TestDatabaseConfiguration.class)
+class SimilarRecipesServiceTest {
+
+    @Autowired
+    private SimilarRecipesService similarRecipesService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Appended to the distinctive words, so recipes created by other tests never share them
+    private String tag;
+    private User author;
+    private Recipe smokyChili;
+    private Recipe beefChili;
+    private Recipe lemonSponge;
+    private Recipe lemonDrizzle;
+
+    @BeforeEach
+    void createRecipes() {
+        tag = Long.toString(System.nanoTime(), 36);
+        author = userRepository.save(new User("similar-" + tag, "similar-" + tag + "@example.com", "hash", null));
+        smokyChili = save("Smoky chipotle" + tag + " chili",
+                "Slow simmered beef chili" + tag + " with chipotle" + tag + " peppers and smoky paprika", 20, 120, Difficulty.MEDIUM);
+        beefChili = save("Beef chipotle" + tag + " chili",
+                "Hearty beef chili" + tag + " with chipotle" + tag + " and smoky spices", 15, 90, Difficulty.MEDIUM);
+        lemonSponge = save("Lemon" + tag + " sponge cake",
+                "Light sponge" + tag + " cake with lemon" + tag + " zest and a lemon glaze", 20, 35, Difficulty.EASY);
+        lemonDrizzle = save("Lemon" + tag + " drizzle cake",
+                "Buttery sponge" + tag + " soaked in lemon" + tag + " syrup", 15, 40, Difficulty.EASY);
+    }
+
+    @Test
+    void shouldRankTheMostSimilarRecipesFirstAfterABuild() {
+        similarRecipesService.rebuild();
+
+        assertThat(similarIds(smokyChili)).first().isEqualTo(beefChili.getId());
+        assertThat(similarIds(lemonDrizzle)).first().isEqualTo(lemonSponge.getId());
+
+        List<SimilarRecipe> similar = similarRecipesService.findSimilar(smokyChili.getId(), 10);
+        assertThat(similar.getFirst().title()).isEqualTo(beefChili.getTitle());
+        assertThat(similar).extracting(SimilarRecipe::score).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(similar).extracting(SimilarRecipe::recipeId).doesNotContain(smokyChili.getId());
+        assertThat(similarRecipesService.findSimilar(smokyChili.getId(), 1)).hasSize(1);
+    }
+
+    @Test
+    void shouldRefreshChangedAndDeletedRecipesWithoutARebuild() {
+        similarRecipesService.rebuild();
+        Recipe veggieChili = save("Veggie chipotle" + tag + " chili",
+                "Bean chili" + tag + " with chipotle" + tag + " and smoky peppers", 15, 60, Difficulty.MEDIUM);
+        assertThat(similarRecipesService.findSimilar(veggieChili.getId(), 10)).isEmpty();
+
+        similarRecipesService.refresh();
+
+        assertThat(similarIds(veggieChili)).isNotEmpty();
+        assertThat(similarIds(veggieChili).getFirst()).isIn(smokyChili.getId(), beefChili.getId());
+        assertThat(similarIds(smokyChili)).contains(veggieChili.getId());
+
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.deleteById(beefChili.getId()));
+        similarRecipesService.refresh();
+
+        assertThat(similarIds(smokyChili)).doesNotContain(beefChili.getId()).contains(veggieChili.getId());
+        assertThat(similarRecipesService.findSimilar(beefChili.getId(), 10)).isEmpty();
+    }
+
+    private List<Long> similarIds(Recipe recipe) {
+        return similarRecipesService.findSimilar(recipe.getId(), 10).stream().map(SimilarRecipe::recipeId).toList();
+    }
+
+    private Recipe save(String title, String description, int prep, int cook, Difficulty difficulty) {
+        return recipeRepository.save(new Recipe(title, description, prep, cook, 4, difficulty, author));
+    }
+}
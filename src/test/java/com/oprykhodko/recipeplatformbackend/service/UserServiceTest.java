@@ -0,0 +1,70 @@
+package com.oprykhodko.recipeplatformbackend.service;
+
+import com.oprykhodko.recipeplatformbackend.TestDatabaseConfiguration;
+import com.oprykhodko.recipeplatformbackend.dto.CursorPage;
+import com.oprykhodko.recipeplatformbackend.dto.RecipeSummary;
+import com.oprykhodko.recipeplatformbackend.dto.UserWithRecipes;
+import com.oprykhodko.recipeplatformbackend.entity.Difficulty;
+import com.oprykhodko.recipeplatformbackend.entity.Recipe;
+import com.oprykhodko.recipeplatformbackend.entity.User;
+import com.oprykhodko.recipeplatformbackend.metrics.QueryTracer;
+import com.oprykhodko.recipeplatformbackend.repository.RecipeRepository;
+import com.oprykhodko.recipeplatformbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "recipes.query-tracing.enabled=true",
+        "recipes.query-tracing.sample-rate=1.0"
+})
+@Import(TestDatabaseConfiguration.class)
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private QueryTracer queryTracer;
+
+    @Test
+    void shouldLoadCappedRecipesOfAPageOfUsersInTwoQueries() {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        User prolific = userRepository.save(new User("prolific-" + suffix, "prolific-" + suffix + "@example.com", "hash", null));
+        User occasional = userRepository.save(new User("occasional-" + suffix, "occasional-" + suffix + "@example.com", "hash", null));
+        User idle = userRepository.save(new User("idle-" + suffix, "idle-" + suffix + "@example.com", "hash", null));
+        for (int i = 0; i < 5; i++) {
+            recipeRepository.save(new Recipe("Prolific " + suffix + " " + i, "Many", 5, 10, 2, Difficulty.EASY, prolific));
+        }
+        recipeRepository.save(new Recipe("Occasional " + suffix, "One", 5, 10, 2, Difficulty.EASY, occasional));
+
+        long executedBefore = queryTracer.report().executed();
+        CursorPage<UserWithRecipes> page = userService.findUsersWithRecipes(prolific.getId() - 1, 100, 3);
+        long executed = queryTracer.report().executed() - executedBefore;
+
+        // One query for the page of users and one for all of their recipes, whatever the page size
+        assertThat(executed).isEqualTo(2);
+        Map<Long, UserWithRecipes> byUser = page.items().stream()
+                .collect(Collectors.toMap(item -> item.user().id(), Function.identity()));
+        assertThat(byUser.get(prolific.getId()).recipes())
+                .extracting(RecipeSummary::title)
+                .containsExactly("Prolific " + suffix + " 4", "Prolific " + suffix + " 3", "Prolific " + suffix + " 2");
+        assertThat(byUser.get(occasional.getId()).recipes())
+                .extracting(RecipeSummary::title)
+                .containsExactly("Occasional " + suffix);
+        assertThat(byUser.get(idle.getId()).recipes()).isEmpty();
+    }
+}